@@ -0,0 +1,94 @@
+package junwatson.mychat;
+
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.MemberChatRoom;
+import junwatson.mychat.domain.type.MemberRole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크에서 애플리케이션을 실행하거나 DB 없이 엔티티를 만들기 위한 메서드 모음<br>
+ * ID와 조회 시각처럼 DB나 도메인 로직을 통해서만 정해지는 값은 리플렉션으로 지정한다
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * MySQL 모드의 인메모리 H2를 사용해 외부 의존성 없이 애플리케이션을 실행하는 메서드
+     */
+    public static ConfigurableApplicationContext runApplication(String... profiles) {
+        return new SpringApplicationBuilder(MyChatApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database=h2",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "server.port=0",
+                        "management.server.port=0",
+                        "jwt.secret=bXljaGF0LWJlbmNobWFyay1zZWNyZXQta2V5LW11c3QtYmUtbG9uZy1lbm91Z2g=",
+                        "jwt.access-token-validity-in-milliseconds=3600000",
+                        "oauth.client-id=benchmark",
+                        "oauth.client-secret=benchmark",
+                        "oauth.redirect-url=http://localhost",
+                        "chat.search.index=scan")
+                .run();
+    }
+
+    public static Member member(long id) {
+        Member member = Member.builder()
+                .role(MemberRole.USER)
+                .email("member" + id + "@mychat.com")
+                .name("member" + id)
+                .password("password")
+                .build();
+        setField(member, "id", id);
+
+        return member;
+    }
+
+    public static ChatRoom chatRoom(long id, String name) {
+        ChatRoom chatRoom = ChatRoom.builder()
+                .name(name)
+                .build();
+        setField(chatRoom, "id", id);
+
+        return chatRoom;
+    }
+
+    /**
+     * 회원을 채팅방에 참여시키고, 채팅방 조회 시각을 지정하는 메서드
+     */
+    public static MemberChatRoom join(Member member, ChatRoom chatRoom, long id, LocalDateTime viewDate) {
+        MemberChatRoom memberChatRoom = MemberChatRoom.builder()
+                .member(member)
+                .chatRoom(chatRoom)
+                .build();
+        setField(memberChatRoom, "id", id);
+        setField(memberChatRoom, "viewDate", viewDate);
+
+        member.getMemberChatRooms().add(memberChatRoom);
+        chatRoom.getMemberChatRooms().add(memberChatRoom);
+
+        return memberChatRoom;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package junwatson.mychat.domain;
+
+import junwatson.mychat.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatService.calculateUnconfirmedCounter가 채팅마다 수행하는 읽지 않은 회원 수 계산 비용을 측정하는 벤치마크<br>
+ * watermark: ReadWatermark를 한 번 만든 뒤 채팅마다 이진 탐색<br>
+ * linearScan: 채팅마다 채팅방 회원 전체를 순회하는 기존 방식
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadWatermarkBenchmark {
+
+    @Param({"2", "20", "200"})
+    private int memberCount;
+
+    @Param({"100", "10000"})
+    private int messageCount;
+
+    private List<MemberChatRoom> memberChatRooms;
+    private List<LocalDateTime> inputDates;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        ChatRoom chatRoom = BenchmarkFixtures.chatRoom(1L, "room");
+
+        memberChatRooms = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            Member member = BenchmarkFixtures.member(i + 1L);
+            // 회원마다 서로 다른 시각까지 채팅을 읽은 상태로 만듦
+            LocalDateTime viewDate = now.minusSeconds((long) messageCount * i / memberCount);
+            memberChatRooms.add(BenchmarkFixtures.join(member, chatRoom, i + 1L, viewDate));
+        }
+
+        inputDates = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            inputDates.add(now.minusSeconds(i));
+        }
+    }
+
+    @Benchmark
+    public void watermark(Blackhole blackhole) {
+        ReadWatermark watermark = ReadWatermark.from(memberChatRooms);
+        for (LocalDateTime inputDate : inputDates) {
+            blackhole.consume(watermark.countUnconfirmed(inputDate));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (LocalDateTime inputDate : inputDates) {
+            int counter = 0;
+            for (MemberChatRoom memberChatRoom : memberChatRooms) {
+                if (memberChatRoom.getViewDate().isBefore(inputDate)) {
+                    counter++;
+                }
+            }
+            blackhole.consume(counter);
+        }
+    }
+}
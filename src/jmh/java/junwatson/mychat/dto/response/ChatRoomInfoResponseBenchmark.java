@@ -0,0 +1,54 @@
+package junwatson.mychat.dto.response;
+
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.MemberChatRoom;
+import junwatson.mychat.repository.cache.ChatRoomNameCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름 없는 채팅방의 ChatRoomInfoResponseDto를 만드는 비용을 측정하는 벤치마크<br>
+ * uncached: 매번 빈 캐시로 생성해, 채팅방 회원 목록을 순회하는 기존 비용을 측정<br>
+ * cached: 이미 계산된 이름을 캐시에서 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatRoomInfoResponseBenchmark {
+
+    @Param({"2", "20", "200"})
+    private int roomSize;
+
+    private MemberChatRoom memberChatRoom;
+    private ChatRoomNameCache nameCache;
+
+    @Setup
+    public void setUp() {
+        ChatRoom chatRoom = BenchmarkFixtures.chatRoom(1L, null);
+        for (int i = 0; i < roomSize; i++) {
+            MemberChatRoom joined = BenchmarkFixtures.join(BenchmarkFixtures.member(i + 1L), chatRoom, i + 1L, LocalDateTime.now());
+            if (memberChatRoom == null) {
+                memberChatRoom = joined;
+            }
+        }
+
+        nameCache = new ChatRoomNameCache();
+        ChatRoomInfoResponseDto.of(memberChatRoom, nameCache);
+    }
+
+    @Benchmark
+    public ChatRoomInfoResponseDto uncached() {
+        return ChatRoomInfoResponseDto.of(memberChatRoom, new ChatRoomNameCache());
+    }
+
+    @Benchmark
+    public ChatRoomInfoResponseDto cached() {
+        return ChatRoomInfoResponseDto.of(memberChatRoom, nameCache);
+    }
+}
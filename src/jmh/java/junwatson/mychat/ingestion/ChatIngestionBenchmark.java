@@ -0,0 +1,120 @@
+package junwatson.mychat.ingestion;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.type.MemberRole;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 쓰기 지연 모드에서 배치 크기에 따른 채팅 저장 처리량을 측정하는 벤치마크<br>
+ * offer는 여러 요청 스레드가 동시에 채팅을 저널에 기록하고 그룹 커밋된 fsync를 기다리는, 응답 시점까지의 처리량을 측정하고,
+ * write는 백그라운드 스레드가 배치 하나를 DB에 저장하는 처리량을 측정하며 rows(저장된 채팅 수)를 보조 지표로 기록한다<br>
+ * H2는 rewriteBatchedStatements를 지원하지 않으므로, MySQL에서의 배치 효과는 이 결과보다 크다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatIngestionBenchmark {
+
+    private static final long LINGER_MILLIS = 20L;
+
+    @Param({"1", "50", "500"})
+    private int maxBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private ChatBatchWriter chatBatchWriter;
+    private ChatIngestionQueue chatIngestionQueue;
+    private Path journalDirectory;
+    private Long memberId;
+    private Long chatRoomId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkFixtures.runApplication();
+        chatBatchWriter = context.getBean(ChatBatchWriter.class);
+        seed(context.getBean(EntityManager.class), context.getBean(TransactionTemplate.class));
+
+        journalDirectory = Files.createTempDirectory("chat-journal");
+        chatIngestionQueue = new ChatIngestionQueue(true, maxBatchSize, LINGER_MILLIS, journalDirectory.toString(), chatBatchWriter);
+        chatIngestionQueue.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException, IOException {
+        chatIngestionQueue.stop();
+        context.close();
+
+        try (Stream<Path> paths = Files.walk(journalDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void offer() {
+        chatIngestionQueue.offer(ChatIngestionEntry.of(memberId, chatRoomId, "message"));
+    }
+
+    @Benchmark
+    public void write(Rows rows) {
+        List<ChatIngestionEntry> batch = new ArrayList<>(maxBatchSize);
+        for (int i = 0; i < maxBatchSize; i++) {
+            batch.add(ChatIngestionEntry.of(memberId, chatRoomId, "message"));
+        }
+        chatBatchWriter.write(batch);
+        rows.rows += batch.size();
+    }
+
+    /**
+     * 채팅을 작성할 회원과 채팅방을 하나씩 만들도록 함
+     */
+    private void seed(EntityManager em, TransactionTemplate transactionTemplate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = Member.builder()
+                    .role(MemberRole.USER)
+                    .email("member@mychat.com")
+                    .name("member")
+                    .password("password")
+                    .build();
+            em.persist(member);
+
+            ChatRoom chatRoom = ChatRoom.builder()
+                    .name("room")
+                    .build();
+            em.persist(chatRoom);
+
+            memberId = member.getId();
+            chatRoomId = chatRoom.getId();
+        });
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            rows = 0;
+        }
+    }
+}
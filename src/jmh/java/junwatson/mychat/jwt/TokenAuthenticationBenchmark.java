@@ -0,0 +1,82 @@
+package junwatson.mychat.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.Member;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static junwatson.mychat.jwt.TokenConstant.*;
+
+/**
+ * JwtFilter가 요청마다 수행하는 엑세스 토큰 인증 비용을 비교하는 벤치마크<br>
+ * legacyThreeParses: 기존처럼 validateToken, hasProperType, getAuthentication이 각각 토큰을 파싱<br>
+ * singleParse: 캐시 없이 재사용하는 파서로 한 번만 파싱<br>
+ * cachedFastPath: 검증된 Claims를 토큰 해시로 조회<br>
+ * createAccessToken, validateToken: 토큰 발급과 (캐시를 거치지 않는) 검증 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenAuthenticationBenchmark {
+
+    private TokenProvider tokenProvider;
+    private Member member;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String secretKey = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        TokenConstant tokenConstant = new TokenConstant(secretKey, TimeUnit.HOURS.toMillis(1));
+        tokenProvider = new TokenProvider(tokenConstant, new SimpleMeterRegistry());
+
+        token = Jwts.builder()
+                .setSubject("1")
+                .claim(ROLE_CLAIM, "USER")
+                .claim(TOKEN_TYPE_CLAIM, TokenType.ACCESS)
+                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_VALIDITY_TIME))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+        tokenProvider.findAccessClaims(token);
+        member = BenchmarkFixtures.member(1L);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokenProvider.createAccessToken(member);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) {
+        if (tokenProvider.validateToken(token) && tokenProvider.hasProperType(token, TokenType.ACCESS)) {
+            blackhole.consume(tokenProvider.getAuthentication(token));
+        }
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        blackhole.consume(tokenProvider.getAuthentication(tokenProvider.parseClaims(token)));
+    }
+
+    @Benchmark
+    public void cachedFastPath(Blackhole blackhole) {
+        tokenProvider.findAccessClaims(token)
+                .map(tokenProvider::getAuthentication)
+                .ifPresent(blackhole::consume);
+    }
+}
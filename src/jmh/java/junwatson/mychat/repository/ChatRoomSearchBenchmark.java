@@ -0,0 +1,117 @@
+package junwatson.mychat.repository;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.Chat;
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.MemberChatRoom;
+import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.domain.type.MemberRole;
+import junwatson.mychat.repository.condition.MemberChatRoomSearchCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원이 참여한 채팅방을 이름으로 검색하는 비용을 측정하는 벤치마크<br>
+ * 한 번의 쿼리로 한 페이지만 조회하는 ChatRoomRepository.searchMemberChatRooms와,
+ * 회원의 채팅방 컬렉션을 모두 불러와 메모리에서 거르던 이전 방식을 비교한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatRoomSearchBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int roomCount;
+
+    private ConfigurableApplicationContext context;
+    private ChatRoomRepository chatRoomRepository;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private Long memberId;
+    private MemberChatRoomSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.runApplication();
+        chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        condition = MemberChatRoomSearchCondition.builder()
+                .name("room1")
+                .page(0)
+                .size(MemberChatRoomSearchCondition.DEFAULT_SIZE)
+                .build();
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberChatRoom> searchMemberChatRooms() {
+        return transactionTemplate.execute(status ->
+                chatRoomRepository.searchMemberChatRooms(em.getReference(Member.class, memberId), condition));
+    }
+
+    /**
+     * 회원의 채팅방 컬렉션과 각 채팅방을 불러온 뒤 메모리에서 거르던 이전 방식
+     */
+    @Benchmark
+    public List<MemberChatRoom> loadAndFilter() {
+        return transactionTemplate.execute(status -> em.find(Member.class, memberId)
+                .getMemberChatRooms()
+                .stream()
+                .filter(memberChatRoom -> StringUtils.hasText(memberChatRoom.getAliasName())
+                        ? memberChatRoom.getAliasName().contains(condition.getName())
+                        : memberChatRoom.getChatRoom().getName().contains(condition.getName()))
+                .toList());
+    }
+
+    /**
+     * 회원 한 명이 roomCount개의 채팅방에 참여하고, 채팅방마다 채팅을 하나씩 작성하도록 함
+     */
+    private void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = Member.builder()
+                    .role(MemberRole.USER)
+                    .email("member@mychat.com")
+                    .name("member")
+                    .password("password")
+                    .build();
+            em.persist(member);
+
+            for (int i = 0; i < roomCount; i++) {
+                ChatRoom chatRoom = ChatRoom.builder()
+                        .name("room" + i)
+                        .build();
+                em.persist(chatRoom);
+                em.persist(MemberChatRoom.builder()
+                        .member(member)
+                        .chatRoom(chatRoom)
+                        .build());
+                em.persist(Chat.builder()
+                        .member(member)
+                        .chatRoom(chatRoom)
+                        .content("message" + i)
+                        .inputDate(LocalDateTime.now())
+                        .chatType(ChatType.USER)
+                        .build());
+            }
+            memberId = member.getId();
+        });
+    }
+}
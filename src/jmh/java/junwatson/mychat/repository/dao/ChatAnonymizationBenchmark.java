@@ -0,0 +1,143 @@
+package junwatson.mychat.repository.dao;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.Chat;
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.id.SnowflakeIdGenerator;
+import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.domain.type.MemberRole;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 한 명이 작성한 채팅을 모두 (알수없음)으로 변경하는 비용을 측정하는 벤치마크<br>
+ * ID 범위로 나누어 대량 UPDATE하는 ChatDao.anonymizeChats와, 채팅 컬렉션을 불러와 하나씩 변경하던 이전 방식을 비교한다<br>
+ * 매 반복마다 변경할 채팅이 있어야 하므로, 반복 전에 작성자를 되돌리고 한 번씩만 실행한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ChatAnonymizationBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final String INSERT_CHAT_SQL =
+            "insert into chat (id, member_id, chat_room_id, content, input_date, chat_type) values (?, ?, ?, ?, ?, ?)";
+
+    @Param({"100000", "1000000"})
+    private int chatCount;
+
+    private ConfigurableApplicationContext context;
+    private ChatDao chatDao;
+    private EntityManager em;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Long memberId;
+    private Long chatRoomId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.runApplication();
+        chatDao = context.getBean(ChatDao.class);
+        em = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 이전 반복에서 익명화된 채팅의 작성자를 되돌리는 메서드
+     */
+    @Setup(Level.Iteration)
+    public void restoreAuthor() {
+        jdbcTemplate.update("update chat set member_id = ? where chat_room_id = ?", memberId, chatRoomId);
+    }
+
+    /**
+     * 탈퇴 작업과 같이 CHUNK_SIZE개씩 별도의 트랜잭션으로 익명화함
+     */
+    @Benchmark
+    public long rangeUpdate() {
+        long total = 0;
+        long updated;
+        do {
+            updated = transactionTemplate.execute(status -> chatDao.anonymizeChats(memberId, CHUNK_SIZE));
+            total += updated;
+        } while (updated > 0);
+
+        return total;
+    }
+
+    /**
+     * 회원의 채팅 컬렉션을 모두 불러와 하나씩 작성자를 비우던 이전 방식
+     */
+    @Benchmark
+    public int entityWalk() {
+        return transactionTemplate.execute(status -> {
+            List<Chat> chats = em.find(Member.class, memberId).getChats();
+            chats.forEach(chat -> chat.setMember(null));
+
+            return chats.size();
+        });
+    }
+
+    /**
+     * 회원 한 명과 채팅방 하나를 만들고, 채팅은 JDBC 배치로 저장함
+     */
+    private void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = Member.builder()
+                    .role(MemberRole.USER)
+                    .email("member@mychat.com")
+                    .name("member")
+                    .password("password")
+                    .build();
+            em.persist(member);
+            ChatRoom chatRoom = ChatRoom.builder()
+                    .name("benchmark")
+                    .build();
+            em.persist(chatRoom);
+            em.flush();
+
+            memberId = member.getId();
+            chatRoomId = chatRoom.getId();
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < chatCount; i++) {
+            ids.add(SnowflakeIdGenerator.nextId());
+            if (ids.size() == INSERT_BATCH_SIZE || i == chatCount - 1) {
+                Timestamp inputDate = Timestamp.valueOf(now.minusSeconds(chatCount - i));
+                jdbcTemplate.batchUpdate(INSERT_CHAT_SQL, ids, ids.size(), (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setLong(2, memberId);
+                    ps.setLong(3, chatRoomId);
+                    ps.setString(4, "message " + id);
+                    ps.setTimestamp(5, inputDate);
+                    ps.setString(6, ChatType.USER.name());
+                });
+                ids.clear();
+            }
+        }
+    }
+}
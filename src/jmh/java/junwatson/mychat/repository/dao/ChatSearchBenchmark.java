@@ -0,0 +1,117 @@
+package junwatson.mychat.repository.dao;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.*;
+import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.domain.type.MemberRole;
+import junwatson.mychat.repository.condition.ChatSearchCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatDao.searchByCondition의 비용을 채팅방 크기와 채팅 수별로 측정하는 벤치마크<br>
+ * MySQL 모드의 인메모리 H2로 애플리케이션을 띄우며, 검색 인덱스는 DB 종류와 무관한 scan 구현을 사용한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatSearchBenchmark {
+
+    private static final String KEYWORD = "needle";
+
+    @Param({"2", "50"})
+    private int roomSize;
+
+    @Param({"1000", "20000"})
+    private int messageCount;
+
+    private ConfigurableApplicationContext context;
+    private ChatDao chatDao;
+    private ChatRoom chatRoom;
+    private ChatSearchCondition keywordCondition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.runApplication();
+        chatDao = context.getBean(ChatDao.class);
+
+        EntityManager em = context.getBean(EntityManager.class);
+        chatRoom = context.getBean(TransactionTemplate.class).execute(status -> seed(em));
+        keywordCondition = ChatSearchCondition.builder()
+                .content(KEYWORD)
+                .page(0)
+                .size(ChatSearchCondition.DEFAULT_SIZE)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Chat> noCondition() {
+        return chatDao.searchByCondition(chatRoom, ChatSearchCondition.noCondition());
+    }
+
+    @Benchmark
+    public List<Chat> keyword() {
+        return chatDao.searchByCondition(chatRoom, keywordCondition);
+    }
+
+    /**
+     * 채팅방 하나에 회원과 채팅을 생성하며, 채팅 100개 중 1개에 검색어를 포함시킨다
+     */
+    private ChatRoom seed(EntityManager em) {
+        ChatRoom room = ChatRoom.builder()
+                .name("benchmark")
+                .build();
+        em.persist(room);
+
+        Member[] members = new Member[roomSize];
+        for (int i = 0; i < roomSize; i++) {
+            members[i] = Member.builder()
+                    .role(MemberRole.USER)
+                    .email("member" + i + "@mychat.com")
+                    .name("member" + i)
+                    .password("password")
+                    .build();
+            em.persist(members[i]);
+            em.persist(MemberChatRoom.builder()
+                    .member(members[i])
+                    .chatRoom(room)
+                    .build());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < messageCount; i++) {
+            em.persist(Chat.builder()
+                    .member(members[i % roomSize])
+                    .chatRoom(room)
+                    .content(i % 100 == 0 ? "message " + KEYWORD + " " + i : "message " + i)
+                    .inputDate(now.minusSeconds(i))
+                    .chatType(ChatType.USER)
+                    .build());
+            // 영속성 컨텍스트가 커지지 않도록 주기적으로 비우고, 이후에는 프록시로 연관관계를 지정함
+            if (i % 1000 == 999) {
+                em.flush();
+                em.clear();
+                room = em.getReference(ChatRoom.class, room.getId());
+                for (int j = 0; j < roomSize; j++) {
+                    members[j] = em.getReference(Member.class, members[j].getId());
+                }
+            }
+        }
+
+        return room;
+    }
+}
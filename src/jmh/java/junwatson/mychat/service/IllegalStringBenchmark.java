@@ -0,0 +1,37 @@
+package junwatson.mychat.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 정보 검증에 사용하는 MemberService.isIllegalString의 비용을 문자열 길이별로 측정하는 벤치마크
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IllegalStringBenchmark {
+
+    @Param({"8", "64", "512"})
+    private int length;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        String words = "abcXYZ019!@#._";
+        for (int i = 0; i < length; i++) {
+            builder.append(words.charAt(i % words.length()));
+        }
+        value = builder.toString();
+    }
+
+    @Benchmark
+    public boolean isIllegalString() {
+        return MemberService.isIllegalString(value);
+    }
+}
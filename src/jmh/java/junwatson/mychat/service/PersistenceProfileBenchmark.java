@@ -0,0 +1,112 @@
+package junwatson.mychat.service;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.BenchmarkFixtures;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.dto.response.ChatRoomSummaryResponseDto;
+import junwatson.mychat.dto.response.MemberInfoResponseDto;
+import junwatson.mychat.metrics.StatementCounter;
+import junwatson.mychat.repository.projection.MemberSnapshot;
+import junwatson.mychat.util.TestUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * prod 프로필의 배치 페치와 2차 캐시 설정이 친구 조회와 채팅방 목록 조회에서 실행되는 SQL 문의 수를 얼마나 줄이는지 측정하는 벤치마크<br>
+ * 실행 시간과 함께 statements(실행된 SQL 문의 수)와 invocations(호출 수)를 보조 지표로 기록하므로, 둘을 나누면 호출당 SQL 문의 수를 알 수 있다<br>
+ * 매 호출은 새 트랜잭션에서 회원을 다시 불러오므로, 영속성 컨텍스트가 아닌 2차 캐시의 효과만 반영된다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    private static final int FRIEND_COUNT = 100;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+    private ChatRoomService chatRoomService;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private Long memberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.runApplication(profile);
+        memberService = context.getBean(MemberService.class);
+        chatRoomService = context.getBean(ChatRoomService.class);
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        seed(context.getBean(TestUtils.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberInfoResponseDto> findAllFriends(Statements statements) {
+        StatementCounter.reset();
+        List<MemberInfoResponseDto> friends = transactionTemplate.execute(status ->
+                memberService.findAllFriends(em.find(Member.class, memberId)));
+        statements.record();
+
+        return friends;
+    }
+
+    @Benchmark
+    public List<ChatRoomSummaryResponseDto> findChatRooms(Statements statements) {
+        StatementCounter.reset();
+        List<ChatRoomSummaryResponseDto> chatRooms = transactionTemplate.execute(status ->
+                chatRoomService.findChatRooms(MemberSnapshot.from(em.find(Member.class, memberId))));
+        statements.record();
+
+        return chatRooms;
+    }
+
+    /**
+     * 회원 한 명이 FRIEND_COUNT명의 친구를 두고, 친구마다 1:1 채팅방을 하나씩 만들도록 함
+     */
+    private void seed(TestUtils utils) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = utils.createTestMember("member", "member");
+            for (int i = 0; i < FRIEND_COUNT; i++) {
+                Member friend = utils.createTestMember("friend" + i, "friend" + i);
+                utils.makeFriends(member, friend);
+                chatRoomService.createChatRoom(member, utils.createChatRoomCreateRequestDto(List.of(friend)));
+            }
+            memberId = member.getId();
+        });
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+        public long invocations;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            statements = 0;
+            invocations = 0;
+        }
+
+        void record() {
+            statements += StatementCounter.count();
+            invocations++;
+        }
+    }
+}
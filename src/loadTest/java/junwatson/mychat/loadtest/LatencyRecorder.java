@@ -0,0 +1,53 @@
+package junwatson.mychat.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 한 엔드포인트의 응답 시간을 기록하는 클래스로, 스레드마다 하나씩 사용한 뒤 merge로 합친다
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], true);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * 백분위 응답 시간을 밀리초 단위로 반환하는 메서드(nearest-rank 방식)
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package junwatson.mychat.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 대상 서버에 JSON 요청을 보내는 HTTP 클라이언트<br>
+ * 이 서비스의 일부 GET 엔드포인트는 본문을 받으므로, 모든 메서드에서 본문을 전달할 수 있도록 한다
+ */
+public class LoadTestClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final Gson gson = new Gson();
+    private final String baseUrl;
+
+    public LoadTestClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public Response send(String method, String path, String token, Object body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(gson.toJson(body));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, publisher);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            return new Response(-1, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, e.getMessage());
+        }
+    }
+
+    public static class Response {
+
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonElement json() {
+            return JsonParser.parseString(body);
+        }
+
+        /**
+         * 성공 응답이 아니라면 시드 데이터 생성을 중단하기 위한 메서드
+         */
+        public Response orThrow(String description) {
+            if (!isSuccess()) {
+                throw new IllegalStateException(description + " 실패: " + status + " " + body);
+            }
+            return this;
+        }
+    }
+}
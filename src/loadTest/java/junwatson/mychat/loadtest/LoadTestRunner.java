@@ -0,0 +1,238 @@
+package junwatson.mychat.loadtest;
+
+import com.google.gson.GsonBuilder;
+import junwatson.mychat.MyChatApplication;
+import junwatson.mychat.loadtest.LoadTestSeeder.SeededMember;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 애플리케이션을 인메모리 H2로 띄우고, 시드 데이터를 생성한 뒤 여러 엔드포인트에 혼합 부하를 주는 부하 테스트<br>
+ * 엔드포인트별 처리량과 p50/p99 응답 시간을 출력하고 JSON 파일로 저장한다<br>
+ * 설정은 loadtest.* 시스템 프로퍼티로 지정한다(./gradlew loadTest -Ploadtest.members=500 등)<br>
+ * -Ploadtest.virtual-threads=true로 가상 스레드 모드의 결과를 같은 조건에서 비교할 수 있다
+ */
+public class LoadTestRunner {
+
+    /**
+     * 부하를 줄 엔드포인트와 그 비율
+     */
+    enum Operation {
+        SEND_CHAT("POST /chat", 30),
+        READ_LATEST("GET /chat", 10),
+        READ_HISTORY("GET /chat/history", 20),
+        SEARCH("GET /chat/search", 10),
+        LIST_ROOMS("GET /room", 15),
+        LIST_FRIENDS("GET /member/friend", 10),
+        REISSUE_TOKEN("GET /authorization/reissue", 5);
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+
+    private final int memberCount = Integer.getInteger("loadtest.members", 200);
+    private final int friendsPerMember = Integer.getInteger("loadtest.friends-per-member", 5);
+    private final int roomCount = Integer.getInteger("loadtest.rooms", 50);
+    private final int roomSize = Integer.getInteger("loadtest.room-size", 10);
+    private final int chatsPerRoom = Integer.getInteger("loadtest.chats-per-room", 20);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final String reportPath = System.getProperty("loadtest.report", "build/results/loadtest/report.json");
+
+    private List<SeededMember> members;
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MyChatApplication.class)
+                .profiles("loadtest")
+                .properties("spring.threads.virtual.enabled=" + VIRTUAL_THREADS)
+                .run(args);
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            new LoadTestRunner().run(new LoadTestClient(port));
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private void run(LoadTestClient client) throws InterruptedException, IOException {
+        seed(new LoadTestSeeder(client));
+
+        System.out.printf("Warming up for %d seconds...%n", warmupSeconds);
+        drive(client, warmupSeconds);
+
+        System.out.printf("Measuring for %d seconds with %d concurrent clients (virtual threads: %s)...%n", durationSeconds, concurrency, VIRTUAL_THREADS);
+        Map<Operation, LatencyRecorder> result = drive(client, durationSeconds);
+
+        report(result);
+    }
+
+    /**
+     * 회원, 친구 관계, 채팅방, 채팅을 생성하는 메서드<br>
+     * 채팅방은 연속된 roomSize명의 회원으로 구성되어, 회원마다 참여한 채팅방 수가 고르게 분포한다
+     */
+    private void seed(LoadTestSeeder seeder) {
+        System.out.printf("Seeding %d members, %d rooms of %d members and %d chats per room...%n", memberCount, roomCount, roomSize, chatsPerRoom);
+
+        members = seeder.createTestMembers(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            for (int j = 1; j <= friendsPerMember && i + j < memberCount; j++) {
+                seeder.makeFriends(members.get(i), members.get(i + j));
+            }
+        }
+
+        for (int i = 0; i < roomCount; i++) {
+            SeededMember owner = members.get(i % memberCount);
+            List<SeededMember> others = new ArrayList<>();
+            for (int j = 1; j < Math.min(roomSize, memberCount); j++) {
+                others.add(members.get((i + j) % memberCount));
+            }
+            long chatRoomId = seeder.createChatRoom(owner, others, "room" + i);
+
+            for (int j = 0; j < chatsPerRoom; j++) {
+                SeededMember writer = j == 0 ? owner : others.get(j % others.size());
+                seeder.createChat(writer, chatRoomId, "seed chat " + j);
+            }
+        }
+    }
+
+    /**
+     * concurrency개의 스레드가 주어진 시간 동안 비율에 맞춰 무작위 요청을 보내는 메서드
+     */
+    private Map<Operation, LatencyRecorder> drive(LoadTestClient client, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() -> {
+                Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pickOperation();
+                    SeededMember member = members.get(ThreadLocalRandom.current().nextInt(members.size()));
+
+                    long startTime = System.nanoTime();
+                    boolean success = execute(client, operation, member);
+                    recorders.computeIfAbsent(operation, key -> new LatencyRecorder())
+                            .record(System.nanoTime() - startTime, success);
+                }
+                return recorders;
+            }));
+        }
+        executor.shutdown();
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            try {
+                future.get().forEach((operation, recorder) ->
+                        merged.computeIfAbsent(operation, key -> new LatencyRecorder()).merge(recorder));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("부하 생성 중 오류가 발생했습니다.", e.getCause());
+            }
+        }
+
+        return merged;
+    }
+
+    private boolean execute(LoadTestClient client, Operation operation, SeededMember member) {
+        List<Long> chatRoomIds = member.getChatRoomIds();
+        Long chatRoomId = chatRoomIds.isEmpty() ? null : chatRoomIds.get(ThreadLocalRandom.current().nextInt(chatRoomIds.size()));
+
+        LoadTestClient.Response response = switch (operation) {
+            case SEND_CHAT -> chatRoomId == null ? null
+                    : client.send("POST", "/chat", member.getAccessToken(), Map.of("chatRoomId", chatRoomId, "content", "load test chat"));
+            case READ_LATEST -> chatRoomId == null ? null
+                    : client.send("GET", "/chat", member.getAccessToken(), Map.of("id", chatRoomId));
+            case READ_HISTORY -> chatRoomId == null ? null
+                    : client.send("GET", "/chat/history", member.getAccessToken(), Map.of("id", chatRoomId, "size", 50));
+            case SEARCH -> chatRoomId == null ? null
+                    : client.send("GET", "/chat/search", member.getAccessToken(), Map.of("id", chatRoomId, "content", "seed chat 1"));
+            case LIST_ROOMS -> client.send("GET", "/room", member.getAccessToken(), null);
+            case LIST_FRIENDS -> client.send("GET", "/member/friend", member.getAccessToken(), null);
+            case REISSUE_TOKEN -> reissue(client, member);
+        };
+
+        return response == null || response.isSuccess();
+    }
+
+    /**
+     * 같은 회원의 재발급이 동시에 일어나면 먼저 처리된 요청만 성공하므로, 회원 단위로 순서대로 재발급하고 새 리프레시 토큰을 보관함
+     */
+    private LoadTestClient.Response reissue(LoadTestClient client, SeededMember member) {
+        synchronized (member) {
+            LoadTestClient.Response response = client.send("GET", "/authorization/reissue", member.getRefreshToken(), null);
+            if (response.isSuccess()) {
+                member.rotateRefreshToken(LoadTestSeeder.token(response.json().getAsJsonObject(), "refreshToken", "refresh_token"));
+            }
+
+            return response;
+        }
+    }
+
+    private Operation pickOperation() {
+        int totalWeight = Arrays.stream(Operation.values()).mapToInt(operation -> operation.weight).sum();
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+
+        throw new IllegalStateException();
+    }
+
+    private void report(Map<Operation, LatencyRecorder> result) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        System.out.printf("%n%-28s %10s %8s %12s %10s %10s%n", "endpoint", "requests", "errors", "throughput", "p50(ms)", "p99(ms)");
+        for (Map.Entry<Operation, LatencyRecorder> entry : result.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            double throughput = (double) recorder.getCount() / durationSeconds;
+            double p50 = recorder.percentileMillis(50);
+            double p99 = recorder.percentileMillis(99);
+
+            System.out.printf("%-28s %10d %8d %10.1f/s %10.2f %10.2f%n",
+                    entry.getKey().endpoint, recorder.getCount(), recorder.getErrors(), throughput, p50, p99);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey().endpoint);
+            row.put("requests", recorder.getCount());
+            row.put("errors", recorder.getErrors());
+            row.put("throughputPerSecond", throughput);
+            row.put("p50Millis", p50);
+            row.put("p99Millis", p99);
+            rows.add(row);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("members", memberCount);
+        report.put("rooms", roomCount);
+        report.put("roomSize", roomSize);
+        report.put("concurrency", concurrency);
+        report.put("virtualThreads", VIRTUAL_THREADS);
+        report.put("durationSeconds", durationSeconds);
+        report.put("endpoints", rows);
+
+        Path path = Path.of(reportPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, new GsonBuilder().setPrettyPrinting().create().toJson(report));
+        System.out.printf("%nReport written to %s%n", path.toAbsolutePath());
+    }
+}
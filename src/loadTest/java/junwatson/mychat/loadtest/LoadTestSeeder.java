@@ -0,0 +1,106 @@
+package junwatson.mychat.loadtest;
+
+import com.google.gson.JsonObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * TestUtils와 같은 방식으로 회원, 친구 관계, 채팅방, 채팅을 생성하는 클래스<br>
+ * 서비스 계층을 직접 호출하지 않고 실제 API를 통해 생성해, 토큰과 채팅방 ID를 부하 생성에 그대로 사용한다
+ */
+public class LoadTestSeeder {
+
+    private final LoadTestClient client;
+
+    public LoadTestSeeder(LoadTestClient client) {
+        this.client = client;
+    }
+
+    /**
+     * 회원 여러 명을 회원가입 시키는 메서드로, loadtest0@mychat.com 형식의 이메일을 사용한다
+     */
+    public List<SeededMember> createTestMembers(int count) {
+        List<SeededMember> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String email = "loadtest" + i + "@mychat.com";
+            JsonObject tokens = client.send("POST", "/authorization", null, Map.of(
+                            "email", email,
+                            "name", "loadtest" + i,
+                            "password", "password" + i,
+                            "profileUrl", ""))
+                    .orThrow("회원가입")
+                    .json().getAsJsonObject();
+
+            members.add(new SeededMember(email, token(tokens, "accessToken", "access_token"), token(tokens, "refreshToken", "refresh_token")));
+        }
+
+        return members;
+    }
+
+    /**
+     * 두 회원을 친구 관계로 등록하는 메서드
+     */
+    public void makeFriends(SeededMember member1, SeededMember member2) {
+        client.send("POST", "/member/friend", member1.getAccessToken(), Map.of("email", member2.getEmail()))
+                .orThrow("친구 요청");
+        client.send("POST", "/member/friend", member2.getAccessToken(), Map.of("email", member1.getEmail()))
+                .orThrow("친구 요청 수락");
+    }
+
+    /**
+     * owner가 members와 함께 채팅방을 만들고, 모든 회원의 채팅방 목록에 추가하는 메서드
+     */
+    public long createChatRoom(SeededMember owner, List<SeededMember> members, String name) {
+        List<Map<String, String>> friends = members.stream()
+                .map(member -> Map.of("email", member.getEmail()))
+                .toList();
+        long chatRoomId = client.send("POST", "/room", owner.getAccessToken(), Map.of(
+                        "name", name,
+                        "profileUrl", "",
+                        "friends", friends))
+                .orThrow("채팅방 생성")
+                .json().getAsJsonObject()
+                .get("id").getAsLong();
+
+        owner.getChatRoomIds().add(chatRoomId);
+        for (SeededMember member : members) {
+            member.getChatRoomIds().add(chatRoomId);
+        }
+
+        return chatRoomId;
+    }
+
+    public void createChat(SeededMember member, long chatRoomId, String content) {
+        client.send("POST", "/chat", member.getAccessToken(), Map.of(
+                        "chatRoomId", chatRoomId,
+                        "content", content))
+                .orThrow("채팅 작성");
+    }
+
+    static String token(JsonObject tokens, String name, String alternativeName) {
+        return tokens.has(name) ? tokens.get(name).getAsString() : tokens.get(alternativeName).getAsString();
+    }
+
+    @Getter
+    @AllArgsConstructor(access = PRIVATE)
+    public static class SeededMember {
+
+        private final String email;
+        private final String accessToken;
+        private String refreshToken;
+        private final List<Long> chatRoomIds = new ArrayList<>();
+
+        /**
+         * 재발급에 사용한 리프레시 토큰은 폐기되므로, 응답으로 받은 새 리프레시 토큰으로 교체하는 메서드
+         */
+        public void rotateRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+}
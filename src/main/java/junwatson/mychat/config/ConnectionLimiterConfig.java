@@ -0,0 +1,42 @@
+package junwatson.mychat.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 모드에서만 DataSource 앞에 커넥션 제한기를 둠<br>
+ * 플랫폼 스레드 모드에서는 Tomcat 스레드 풀의 크기가 동시에 커넥션을 요청하는 스레드 수를 이미 제한한다
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    /**
+     * 애플리케이션의 DataSource를 ConnectionLimitingDataSource로 감싸는 BeanPostProcessor<br>
+     * 다른 빈보다 먼저 생성되어야 하므로 static으로 선언함
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(@Value("${connection-limiter.permits}") int permits,
+                                                                   @Value("${connection-limiter.acquire-timeout-millis}") long acquireTimeoutMillis,
+                                                                   @Value("${spring.datasource.hikari.maximum-pool-size}") int maximumPoolSize) {
+        // 풀 크기보다 작아야 가상 스레드가 몰려도 백그라운드 작업이 사용할 커넥션이 남음
+        if (permits <= 0 || permits >= maximumPoolSize) {
+            throw new IllegalArgumentException("connection-limiter.permits는 양수이면서 maximum-pool-size(" + maximumPoolSize + ")보다 작아야 합니다.");
+        }
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package junwatson.mychat.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 가상 스레드가 동시에 사용할 수 있는 커넥션 수를 세마포어로 제한하는 DataSource<br>
+ * 가상 스레드를 사용하면 요청 수만큼 스레드가 생기므로, 커넥션 풀 앞에서 공정하게 대기하도록 해 순간적인 요청 폭주가 풀을 고갈시키지 않게 한다<br>
+ * 쓰기 지연 저장이나 회원 탈퇴 작업처럼 플랫폼 스레드에서 동작하는 백그라운드 작업은 제한하지 않으므로, 허가 수를 풀 크기보다 작게 두면 남은 커넥션을 사용할 수 있다<br>
+ * 허가는 커넥션을 닫을 때(풀에 반납할 때) 한 번만 돌려준다
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int permits, long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!Thread.currentThread().isVirtual()) {
+            return super.getConnection();
+        }
+
+        acquire();
+        try {
+            return limit(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!Thread.currentThread().isVirtual()) {
+            return super.getConnection(username, password);
+        }
+
+        acquire();
+        try {
+            return limit(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("커넥션을 얻기 위한 대기 시간이 초과되었습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("커넥션을 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    /**
+     * close()가 호출되면 허가를 반납하도록 커넥션을 감싸는 메서드
+     */
+    private Connection limit(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    // 프록시끼리 비교해야 같은 커넥션인지 올바르게 판단되므로, 대상 커넥션에 위임하지 않음
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close")) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
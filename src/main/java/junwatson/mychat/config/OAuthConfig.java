@@ -0,0 +1,27 @@
+package junwatson.mychat.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class OAuthConfig {
+
+    public static final String OAUTH_EXECUTOR = "oauthExecutor";
+
+    /**
+     * 구글 응답을 받은 뒤 로그인 트랜잭션을 수행하는 스레드 풀로, 구글과의 통신은 HttpClient의 기본 스레드 풀이 처리함<br>
+     * 스레드 수와 대기열 크기를 제한해, 구글 응답이 몰려도 DB 커넥션을 기다리는 스레드가 끝없이 늘어나지 않게 함
+     */
+    @Bean(OAUTH_EXECUTOR)
+    public ThreadPoolTaskExecutor oauthExecutor(@Value("${oauth.executor.pool-size}") int poolSize,
+                                                @Value("${oauth.executor.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("oauth-");
+        return executor;
+    }
+}
@@ -34,6 +34,10 @@ public class SecurityConfig {
                 .logout(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .requestMatchers("/authorization/**").permitAll()
+                        // 웹소켓 핸드셰이크는 헤더를 담을 수 없으므로, STOMP CONNECT 단계에서 인증함
+                        .requestMatchers("/ws/**").permitAll()
+                        // 메트릭 수집용 엔드포인트는 외부에 노출되지 않는 관리 포트에서만 제공함
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .cors(cors -> cors.configurationSource(configurationSource()))
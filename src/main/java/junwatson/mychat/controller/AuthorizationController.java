@@ -9,16 +9,16 @@ import junwatson.mychat.jwt.TokenProvider;
 import junwatson.mychat.service.GoogleLoginService;
 import junwatson.mychat.service.MemberService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.springframework.http.HttpStatus.*;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/authorization")
-@Slf4j
 public class AuthorizationController {
 
     private final TokenProvider tokenProvider;
@@ -26,18 +26,12 @@ public class AuthorizationController {
     private final MemberService memberService;
 
     @GetMapping("/google")
-    public TokenDto googleCallback(@RequestParam(name = "code") String code) {
-        log.info("AuthorizationController.googleCallback() called");
-
-        String googleAccessToken = googleLoginService.getGoogleAccessToken(code);
-
-        return googleLoginService.loginOrSignUp(googleAccessToken);
+    public CompletableFuture<TokenDto> googleCallback(@RequestParam(name = "code") String code) {
+        return googleLoginService.loginOrSignUp(code);
     }
 
     @GetMapping("/reissue")
     public ResponseEntity<ReissueAccessTokenResponseDto> reissueAccessToken(HttpServletRequest request) {
-        log.info("AuthorizationController.reissueAccessToken() called");
-
         String refreshTokenString = tokenProvider.resolveToken(request);
         ReissueAccessTokenResponseDto responseDto = memberService.reissueAccessToken(refreshTokenString);
 
@@ -46,8 +40,6 @@ public class AuthorizationController {
 
     @PostMapping
     public ResponseEntity<TokenDto> signUp(@RequestBody MemberSignUpRequestDto requestDto) {
-        log.info("AuthorizationController.signUp() called");
-
         TokenDto responseDto = memberService.signUp(requestDto);
 
         return ResponseEntity.status(CREATED).body(responseDto);
@@ -55,8 +47,6 @@ public class AuthorizationController {
 
     @GetMapping
     public ResponseEntity<TokenDto> signIn(@RequestBody MemberSignInRequestDto requestDto) {
-        log.info("AuthorizationController.signIn() called");
-
         TokenDto responseDto = memberService.signIn(requestDto);
 
         return ResponseEntity.ok(responseDto);
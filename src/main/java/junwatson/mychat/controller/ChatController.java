@@ -2,14 +2,16 @@ package junwatson.mychat.controller;
 
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.dto.request.ChatCreateRequestDto;
+import junwatson.mychat.dto.request.ChatHistoryRequestDto;
 import junwatson.mychat.dto.request.ChatInfoRequestDto;
 import junwatson.mychat.dto.request.ChatRoomInfoRequestDto;
 import junwatson.mychat.dto.request.ChatSearchRequestDto;
+import junwatson.mychat.dto.response.ChatHistoryResponseDto;
 import junwatson.mychat.dto.response.ChatInfoResponseDto;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import junwatson.mychat.service.ChatService;
 import junwatson.mychat.service.MemberService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +22,6 @@ import java.util.List;
 import static org.springframework.http.HttpStatus.*;
 
 @Controller
-@Slf4j
 @RequiredArgsConstructor
 @RequestMapping("/chat")
 public class ChatController {
@@ -31,8 +32,6 @@ public class ChatController {
 
     @PostMapping
     public ResponseEntity<ChatInfoResponseDto> createChat(@RequestBody ChatCreateRequestDto requestDto, Principal principal) {
-        log.info("ChatController.createChat() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatInfoResponseDto responseDto = chatService.createUserChat(member, requestDto);
 
@@ -41,18 +40,22 @@ public class ChatController {
 
     @GetMapping
     public ResponseEntity<List<ChatInfoResponseDto>> findChats(@RequestBody ChatRoomInfoRequestDto requestDto, Principal principal) {
-        log.info("ChatController.findChats() called");
-
-        Member member = util.findMemberByPrincipal(principal);
+        MemberSnapshot member = util.findMemberSnapshotByPrincipal(principal);
         List<ChatInfoResponseDto> responseDto = chatService.readChats(member, requestDto);
 
         return ResponseEntity.ok(responseDto);
     }
 
+    @GetMapping("/history")
+    public ResponseEntity<ChatHistoryResponseDto> findChatHistory(@RequestBody ChatHistoryRequestDto requestDto, Principal principal) {
+        MemberSnapshot member = util.findMemberSnapshotByPrincipal(principal);
+        ChatHistoryResponseDto responseDto = chatService.readChatHistory(member, requestDto);
+
+        return ResponseEntity.ok(responseDto);
+    }
+
     @DeleteMapping
     public ResponseEntity<ChatInfoResponseDto> deleteChat(@RequestBody ChatInfoRequestDto requestDto, Principal principal) {
-        log.info("ChatController.deleteChat() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatInfoResponseDto responseDto = chatService.deleteChat(member, requestDto);
 
@@ -61,9 +64,7 @@ public class ChatController {
 
     @GetMapping("/search")
     public ResponseEntity<List<ChatInfoResponseDto>> searchChats(@RequestBody ChatSearchRequestDto requestDto, Principal principal) {
-        log.info("ChatController.searchChats() called");
-
-        Member member = util.findMemberByPrincipal(principal);
+        MemberSnapshot member = util.findMemberSnapshotByPrincipal(principal);
         List<ChatInfoResponseDto> responseDto = chatService.searchChats(member, requestDto);
 
         return ResponseEntity.ok(responseDto);
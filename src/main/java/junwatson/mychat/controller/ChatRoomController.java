@@ -3,9 +3,10 @@ package junwatson.mychat.controller;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.dto.request.*;
 import junwatson.mychat.dto.response.ChatRoomInfoResponseDto;
+import junwatson.mychat.dto.response.ChatRoomSummaryResponseDto;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import junwatson.mychat.service.ChatRoomService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -18,7 +19,6 @@ import static org.springframework.http.HttpStatus.CREATED;
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/room")
-@Slf4j
 public class ChatRoomController {
 
     private final ChatRoomService chatRoomService;
@@ -26,8 +26,6 @@ public class ChatRoomController {
 
     @PostMapping
     public ResponseEntity<ChatRoomInfoResponseDto> createChatRoom(@RequestBody ChatRoomCreateRequestDto requestDto, Principal principal) {
-        log.info("ChatRoomController.createChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatRoomInfoResponseDto responseDto = chatRoomService.createChatRoom(member, requestDto);
 
@@ -35,19 +33,15 @@ public class ChatRoomController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ChatRoomInfoResponseDto>> findChatRooms(Principal principal) {
-        log.info("ChatRoomController.findChatRooms() called");
-
-        Member member = util.findMemberByPrincipal(principal);
-        List<ChatRoomInfoResponseDto> responseDto = chatRoomService.findChatRooms(member);
+    public ResponseEntity<List<ChatRoomSummaryResponseDto>> findChatRooms(Principal principal) {
+        MemberSnapshot member = util.findMemberSnapshotByPrincipal(principal);
+        List<ChatRoomSummaryResponseDto> responseDto = chatRoomService.findChatRooms(member);
 
         return ResponseEntity.ok(responseDto);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<ChatRoomInfoResponseDto>> searchChatRoom(@RequestBody ChatRoomSearchRequestDto requestDto, Principal principal) {
-        log.info("ChatRoomController.searchChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<ChatRoomInfoResponseDto> responseDto = chatRoomService.searchChatRooms(member, requestDto);
 
@@ -56,8 +50,6 @@ public class ChatRoomController {
 
     @DeleteMapping
     public ResponseEntity<ChatRoomInfoResponseDto> leaveChatRoom(@RequestBody ChatRoomInfoRequestDto requestDto, Principal principal) {
-        log.info("ChatRoomController.leaveChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatRoomInfoResponseDto responseDto = chatRoomService.leaveChatRoom(member, requestDto);
 
@@ -66,8 +58,6 @@ public class ChatRoomController {
 
     @GetMapping("/invitation")
     public ResponseEntity<ChatRoomInfoResponseDto> inviteChatRoom(@RequestBody ChatRoomInviteRequestDto requestDto, Principal principal) {
-        log.info("ChatRoomController.inviteChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatRoomInfoResponseDto responseDto = chatRoomService.inviteChatRoom(member, requestDto);
 
@@ -76,8 +66,6 @@ public class ChatRoomController {
 
     @PatchMapping
     public ResponseEntity<ChatRoomInfoResponseDto> modifyChatRoom(@RequestBody ChatRoomModificationRequestDto requestDto, Principal principal) {
-        log.info("ChatRoomController.modifyChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         ChatRoomInfoResponseDto responseDto = chatRoomService.modifyChatRoom(member, requestDto);
 
@@ -1,25 +1,31 @@
 package junwatson.mychat.controller;
 
 import junwatson.mychat.domain.Member;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import junwatson.mychat.service.MemberService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
 
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class ControllerUtil {
 
     private final MemberService memberService;
 
     public Member findMemberByPrincipal(Principal principal) {
-        log.info("ControllerUtil.findMemberByPrincipal() called");
-
         Long memberId = Long.parseLong(principal.getName());
 
         return memberService.findById(memberId);
     }
+
+    /**
+     * 조회 전용 요청에서 사용하는 메서드로, Member 엔티티 대신 캐시된 MemberSnapshot을 반환한다
+     */
+    public MemberSnapshot findMemberSnapshotByPrincipal(Principal principal) {
+        Long memberId = Long.parseLong(principal.getName());
+
+        return memberService.findSnapshotById(memberId);
+    }
 }
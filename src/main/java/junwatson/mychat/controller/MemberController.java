@@ -3,9 +3,9 @@ package junwatson.mychat.controller;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.dto.request.*;
 import junwatson.mychat.dto.response.MemberInfoResponseDto;
+import junwatson.mychat.dto.response.MemberSearchResponseDto;
 import junwatson.mychat.service.MemberService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +17,6 @@ import static org.springframework.http.HttpStatus.CREATED;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/member")
-@Slf4j
 public class MemberController {
 
     private final MemberService memberService;
@@ -25,8 +24,6 @@ public class MemberController {
 
     @PatchMapping
     public ResponseEntity<MemberInfoResponseDto> updateMember(@RequestBody MemberModificationRequestDto requestDto, Principal principal) {
-        log.info("MemberController.updateMember() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.updateMember(member, requestDto);
 
@@ -35,8 +32,6 @@ public class MemberController {
 
     @DeleteMapping
     public ResponseEntity<MemberInfoResponseDto> withdrawMembership(Principal principal) {
-        log.info("MemberController.withdrawMembership() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.withdrawMembership(member);
 
@@ -45,8 +40,6 @@ public class MemberController {
 
     @GetMapping("/expiration")
     public ResponseEntity<String> logout(Principal principal) {
-        log.info("MemberController.logout() called");
-
         Member member = util.findMemberByPrincipal(principal);
         memberService.logout(member);
 
@@ -55,8 +48,6 @@ public class MemberController {
 
     @GetMapping("/integration")
     public ResponseEntity<MemberInfoResponseDto> integrate(@RequestBody MemberIntegrationRequestDto requestDto, Principal principal) {
-        log.info("MemberController.integrate() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.integrate(member, requestDto);
 
@@ -65,8 +56,6 @@ public class MemberController {
 
     @GetMapping("/room")
     public ResponseEntity<List<MemberInfoResponseDto>> findMembersByChatRoom(@RequestBody ChatRoomInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.findMembersByChatRoom() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<MemberInfoResponseDto> responseDto = memberService.findMembersInChatRoom(member, requestDto);
 
@@ -75,8 +64,6 @@ public class MemberController {
 
     @PostMapping("/friend")
     public ResponseEntity<MemberInfoResponseDto> createFriendship(@RequestBody MemberInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.createFriendship() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.createFriendshipRequest(member, requestDto);
 
@@ -85,8 +72,6 @@ public class MemberController {
 
     @GetMapping("/friend")
     public ResponseEntity<List<MemberInfoResponseDto>> findAllFriends(Principal principal) {
-        log.info("MemberController.findAllFriends() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<MemberInfoResponseDto> responseDto = memberService.findAllFriends(member);
 
@@ -95,8 +80,6 @@ public class MemberController {
 
     @DeleteMapping("/friend")
     public ResponseEntity<MemberInfoResponseDto> removeFriend(@RequestBody MemberInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.removeFriend() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.removeFriendship(member, requestDto);
 
@@ -105,8 +88,6 @@ public class MemberController {
 
     @GetMapping("/friend/search")
     public ResponseEntity<List<MemberInfoResponseDto>> searchFriends(@RequestBody MemberSearchRequestDto requestDto, Principal principal) {
-        log.info("MemberController.searchFriends() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<MemberInfoResponseDto> responseDto = memberService.searchFriendsByCondition(member, requestDto);
 
@@ -115,8 +96,6 @@ public class MemberController {
 
     @GetMapping("/friend/sent")
     public ResponseEntity<List<MemberInfoResponseDto>> findSentFriendRequests(Principal principal) {
-        log.info("MemberController.findSentFriendRequest() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<MemberInfoResponseDto> responseDto = memberService.findSentFriendshipRequests(member);
 
@@ -125,8 +104,6 @@ public class MemberController {
 
     @GetMapping("/friend/received")
     public ResponseEntity<List<MemberInfoResponseDto>> findReceivedFriendRequests(Principal principal) {
-        log.info("MemberController.findReceivedFriendRequest() called");
-
         Member member = util.findMemberByPrincipal(principal);
         List<MemberInfoResponseDto> responseDto = memberService.findReceivedFriendshipRequests(member);
 
@@ -135,26 +112,20 @@ public class MemberController {
 
     @GetMapping("/friend/rejection")
     public void rejectFriendshipRequest(@RequestBody MemberInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.rejectFriendshipRequest() called");
-
         Member member = util.findMemberByPrincipal(principal);
         memberService.rejectFriendshipRequest(member, requestDto);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<MemberInfoResponseDto>> searchMembers(@RequestBody MemberSearchRequestDto requestDto, Principal principal) {
-        log.info("MemberController.searchMember() called");
-
+    public ResponseEntity<MemberSearchResponseDto> searchMembers(@RequestBody MemberSearchRequestDto requestDto, Principal principal) {
         Member member = util.findMemberByPrincipal(principal);
-        List<MemberInfoResponseDto> responseDto = memberService.searchMembersByCondition(member, requestDto);
+        MemberSearchResponseDto responseDto = memberService.searchMembersByCondition(member, requestDto);
 
         return ResponseEntity.ok(responseDto);
     }
 
     @PostMapping("/blacklist")
     public ResponseEntity<MemberInfoResponseDto> addBlacklist(@RequestBody MemberInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.createBlacklist() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.addBlacklist(member, requestDto);
 
@@ -163,8 +134,6 @@ public class MemberController {
 
     @DeleteMapping("/blacklist")
     public ResponseEntity<MemberInfoResponseDto> deleteBlacklist(@RequestBody MemberInfoRequestDto requestDto, Principal principal) {
-        log.info("MemberController.deleteBlacklist() called");
-
         Member member = util.findMemberByPrincipal(principal);
         MemberInfoResponseDto responseDto = memberService.removeBlacklist(member, requestDto);
 
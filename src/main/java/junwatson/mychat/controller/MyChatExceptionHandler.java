@@ -13,8 +13,6 @@ import static org.springframework.http.HttpStatus.*;
 public class MyChatExceptionHandler {
 
     public static ResponseEntity<String> handle(Exception e) {
-        log.info("MyChatExceptionHandler.handle() called");
-
         if (e instanceof IllegalArgumentException ||
                 e instanceof IllegalMemberStateException ||
                 e instanceof IllegalRefreshTokenException ||
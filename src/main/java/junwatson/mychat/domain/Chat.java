@@ -1,6 +1,7 @@
 package junwatson.mychat.domain;
 
 import jakarta.persistence.*;
+import junwatson.mychat.domain.id.SnowflakeId;
 import junwatson.mychat.domain.type.ChatType;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,20 +9,24 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.Objects;
 
 import static jakarta.persistence.EnumType.*;
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = PROTECTED)
+@Table(indexes = {
+        @Index(name = "chat_room_input_date_index", columnList = "chat_room_id, input_date, id"),
+        @Index(name = "chat_member_index", columnList = "member_id, id")
+})
 public class Chat implements Comparable<Chat> {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @JoinColumn
@@ -49,9 +54,17 @@ public class Chat implements Comparable<Chat> {
         this.chatType = chatType;
     }
 
+    /**
+     * 최신 채팅이 앞에 오도록 정렬하며, 작성 시각이 같다면 ID가 큰 채팅을 앞에 둔다
+     */
     @Override
     public int compareTo(Chat o) {
-        return inputDate.compareTo(o.inputDate) * -1;
+        int result = o.inputDate.compareTo(inputDate);
+        if (result != 0) {
+            return result;
+        }
+
+        return Comparator.nullsLast(Comparator.<Long>reverseOrder()).compare(id, o.id);
     }
 
     @Override
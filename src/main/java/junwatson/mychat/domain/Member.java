@@ -7,7 +7,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,20 +20,20 @@ import static jakarta.persistence.EnumType.STRING;
 import static jakarta.persistence.FetchType.LAZY;
 import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE)
 @Getter
 @NoArgsConstructor(access = PROTECTED)
+@Table(indexes = {@Index(name = "member_name_index", columnList = "name")})
 public class Member {
 
     @Id
     @GeneratedValue(strategy = IDENTITY)
     private Long id;
 
-    @OneToOne(orphanRemoval = true, fetch = LAZY, cascade = ALL)
-    @Setter
-    private RefreshToken refreshToken;
-
     @OneToMany(mappedBy = "member", fetch = LAZY, cascade = ALL, orphanRemoval = true)
     private final List<Friendship> friendships = new ArrayList<>();
 
@@ -68,6 +70,14 @@ public class Member {
     private String password;
     @Setter
     private String profileUrl;
+    private LocalDateTime withdrawDate;
+
+    // 탈퇴 작업을 맡은 서버와 마지막으로 갱신한 시각으로, 여러 서버가 같은 회원의 탈퇴 작업을 동시에 처리하지 않도록 함
+    // 회원의 2차 캐시가 무효화되지 않도록 엔티티로는 변경하지 않고, MemberRepository의 JDBC 쿼리로만 변경함
+    @Column(insertable = false, updatable = false)
+    private String withdrawalClaimedBy;
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime withdrawalClaimedAt;
 
     @Builder
     private Member(MemberRole role, String email, String name, String password, String profileUrl, MemberAuthorizationType authorizedBy) {
@@ -79,6 +89,18 @@ public class Member {
         this.profileUrl = profileUrl;
     }
 
+    /**
+     * 탈퇴를 요청한 회원을 표시하는 메서드<br>
+     * 관련 데이터는 백그라운드 작업이 나누어 정리한 뒤 회원을 삭제하며, 그 전까지 표시된 회원은 조회되지 않는다
+     */
+    public void withdraw() {
+        this.withdrawDate = LocalDateTime.now();
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawDate != null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,89 @@
+package junwatson.mychat.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * 채팅방 회원들의 채팅방 조회 시각을 정렬된 배열로 보관하는 클래스<br>
+ * 특정 시각에 작성된 채팅을 읽지 않은 회원 수를 이진 탐색으로 O(log n)에 계산한다
+ */
+public class ReadWatermark {
+
+    private final long[] viewTimes;
+
+    private ReadWatermark(long[] viewTimes) {
+        this.viewTimes = viewTimes;
+    }
+
+    public static ReadWatermark from(Collection<MemberChatRoom> memberChatRooms) {
+        long[] viewTimes = memberChatRooms.stream()
+                .map(MemberChatRoom::getViewDate)
+                .mapToLong(ReadWatermark::toNanos)
+                .sorted()
+                .toArray();
+
+        return new ReadWatermark(viewTimes);
+    }
+
+    /**
+     * 해당 시각에 작성된 채팅을 아직 읽지 않은(조회 시각이 더 이전인) 회원의 수를 반환하는 메서드
+     */
+    public int countUnconfirmed(LocalDateTime inputDate) {
+        return lowerBound(toNanos(inputDate));
+    }
+
+    /**
+     * 한 회원의 조회 시각이 변경되었을 때, 전체를 다시 정렬하지 않고 해당 값만 옮기는 메서드
+     */
+    public void advance(LocalDateTime previousViewDate, LocalDateTime viewDate) {
+        long previous = toNanos(previousViewDate);
+        long current = toNanos(viewDate);
+        int index = lowerBound(previous);
+
+        if (index == viewTimes.length || viewTimes[index] != previous) {
+            throw new IllegalStateException("채팅방 조회 시각 정보가 일치하지 않습니다.");
+        }
+
+        // 새 값이 들어갈 위치까지 사이의 값들을 한 칸씩 밀어 정렬 상태를 유지
+        if (current >= previous) {
+            while (index + 1 < viewTimes.length && viewTimes[index + 1] < current) {
+                viewTimes[index] = viewTimes[index + 1];
+                index++;
+            }
+        } else {
+            while (index > 0 && viewTimes[index - 1] > current) {
+                viewTimes[index] = viewTimes[index - 1];
+                index--;
+            }
+        }
+        viewTimes[index] = current;
+    }
+
+    public int size() {
+        return viewTimes.length;
+    }
+
+    /**
+     * 해당 값 이상인 첫 번째 원소의 위치(해당 값보다 작은 원소의 개수)를 반환하는 메서드
+     */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = viewTimes.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (viewTimes[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
@@ -1,30 +1,46 @@
 package junwatson.mychat.domain;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
+import static jakarta.persistence.FetchType.LAZY;
 import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
+/**
+ * 발급된 리프레시 토큰을 토큰 원문 대신 SHA-256 해시로 보관하는 엔티티<br>
+ * 한 회원이 여러 기기에서 동시에 로그인할 수 있도록 회원마다 여러 개를 가질 수 있다
+ */
 @Entity
 @Getter
 @NoArgsConstructor(access = PROTECTED)
+@Table(indexes = {@Index(name = "refresh_token_expires_at_index", columnList = "expiresAt")})
 public class RefreshToken {
 
     @Id
     @GeneratedValue(strategy = IDENTITY)
     private Long id;
-    private String token;
+
+    @Column(unique = true, nullable = false, length = 44)
+    private String tokenHash;
+
+    @ManyToOne(fetch = LAZY)
+    @JoinColumn(nullable = false)
+    private Member member;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
 
     @Builder
-    private RefreshToken(String token) {
-        this.token = token;
+    private RefreshToken(String tokenHash, Member member, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.member = member;
+        this.expiresAt = expiresAt;
     }
 
     @Override
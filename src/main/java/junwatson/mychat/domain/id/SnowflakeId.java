@@ -0,0 +1,20 @@
+package junwatson.mychat.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 식별자를 DB가 아닌 애플리케이션에서 시간 순으로 생성하도록 하는 어노테이션<br>
+ * IDENTITY 전략과 달리 INSERT 이전에 식별자가 정해지므로, 여러 INSERT를 하나의 배치로 묶을 수 있다
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,33 @@
+package junwatson.mychat.domain.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class SnowflakeIdConstant {
+
+    public static long WORKER_ID;
+
+    /**
+     * 쓰기 지연 모드에서는 식별자가 겹친 채팅을 재시작 시 다시 저장된 채팅과 구분하기 어려우므로, worker-id를 반드시 지정해야 한다<br>
+     * 쓰기 지연 모드가 아니라면 지정하지 않아도 0을 사용한다
+     */
+    public SnowflakeIdConstant(
+            @Value("${chat.id.worker-id:}") String workerId,
+            @Value("${chat.ingestion.write-behind}") boolean writeBehind) {
+
+        if (!StringUtils.hasText(workerId)) {
+            if (writeBehind) {
+                throw new IllegalArgumentException("쓰기 지연 모드에서는 서버마다 다른 worker-id를 지정해야 합니다.");
+            }
+            workerId = "0";
+        }
+
+        long id = Long.parseLong(workerId.trim());
+        if (id < 0 || id > SnowflakeIdGenerator.MAX_WORKER_ID) {
+            throw new IllegalArgumentException("worker-id는 0 이상 " + SnowflakeIdGenerator.MAX_WORKER_ID + " 이하여야 합니다.");
+        }
+        SnowflakeIdConstant.WORKER_ID = id;
+    }
+}
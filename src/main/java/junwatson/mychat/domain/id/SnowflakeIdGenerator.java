@@ -0,0 +1,54 @@
+package junwatson.mychat.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 생성 시각(41비트), 서버 번호(10비트), 순번(12비트)으로 구성된 식별자를 생성하는 클래스<br>
+ * 서버마다 다른 worker-id를 지정하면 여러 서버에서 동시에 생성해도 식별자가 겹치지 않는다
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long WORKER_ID_BITS = 10L;
+    private static final long SEQUENCE_BITS = 12L;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    public static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+
+    // synchronized는 가상 스레드를 캐리어 스레드에 고정시키므로, ReentrantLock으로 동기화함
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    private static long lastTimestamp = -1L;
+    private static long sequence = 0L;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+
+    public static long nextId() {
+        LOCK.lock();
+        try {
+            long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+
+            // 같은 밀리초 안에서는 순번을 증가시키고, 순번을 모두 사용했다면 다음 밀리초의 값을 미리 사용함
+            if (timestamp == lastTimestamp) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    timestamp++;
+                }
+            } else {
+                sequence = 0L;
+            }
+            lastTimestamp = timestamp;
+
+            return ((timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS))
+                    | (SnowflakeIdConstant.WORKER_ID << SEQUENCE_BITS)
+                    | sequence;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package junwatson.mychat.domain.type;
+
+public enum ChatEventType {
+    CREATED, MODIFIED, DELETED
+}
@@ -4,6 +4,7 @@ import junwatson.mychat.domain.Chat;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.ingestion.ChatIngestionEntry;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -32,4 +33,8 @@ public class ChatCreateRequestDto {
                 .chatType(ChatType.USER)
                 .build();
     }
+
+    public ChatIngestionEntry toIngestionEntry(Member member, ChatRoom chatRoom) {
+        return ChatIngestionEntry.of(member.getId(), chatRoom.getId(), content);
+    }
 }
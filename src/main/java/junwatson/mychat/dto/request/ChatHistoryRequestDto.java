@@ -0,0 +1,31 @@
+package junwatson.mychat.dto.request;
+
+import junwatson.mychat.repository.condition.ChatCursor;
+import junwatson.mychat.repository.condition.ChatHistoryCondition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PUBLIC;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor(access = PUBLIC)
+public class ChatHistoryRequestDto {
+
+    private Long id;
+    private String before;
+    private Integer size;
+
+    public ChatHistoryCondition toCondition() {
+        // 크기가 전달되지 않았거나 부적절하다면 기본값을 사용하고, 최대 크기를 넘지 않도록 함
+        int size = (this.size == null || this.size <= 0) ? ChatHistoryCondition.DEFAULT_SIZE : this.size;
+
+        return ChatHistoryCondition.builder()
+                .cursor(ChatCursor.decode(before))
+                .size(Math.min(size, ChatHistoryCondition.MAX_SIZE))
+                .build();
+    }
+}
@@ -16,12 +16,20 @@ import static lombok.AccessLevel.PUBLIC;
 public class ChatRoomSearchRequestDto {
 
     private String name;
+    private Integer page;
+    private Integer size;
 
     public MemberChatRoomSearchCondition toCondition() {
         String name = StringUtils.hasText(this.name) ? this.name : null;
 
+        // 페이지 정보가 전달되지 않았거나 부적절하다면 기본값을 사용하고, 오프셋이 넘치지 않도록 최대 페이지와 크기를 넘지 않도록 함
+        int page = (this.page == null || this.page < 0) ? 0 : Math.min(this.page, MemberChatRoomSearchCondition.MAX_PAGE);
+        int size = (this.size == null || this.size <= 0) ? MemberChatRoomSearchCondition.DEFAULT_SIZE : this.size;
+
         return MemberChatRoomSearchCondition.builder()
                 .name(name)
+                .page(page)
+                .size(Math.min(size, MemberChatRoomSearchCondition.MAX_SIZE))
                 .build();
     }
 }
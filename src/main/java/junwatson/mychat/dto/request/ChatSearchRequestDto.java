@@ -16,10 +16,18 @@ public class ChatSearchRequestDto {
 
     private Long id;
     private String content;
+    private Integer page;
+    private Integer size;
 
     public ChatSearchCondition toCondition() {
+        // 페이지 정보가 전달되지 않았거나 부적절하다면 기본값을 사용하고, 오프셋이 넘치지 않도록 최대 페이지와 크기를 넘지 않도록 함
+        int page = (this.page == null || this.page < 0) ? 0 : Math.min(this.page, ChatSearchCondition.MAX_PAGE);
+        int size = (this.size == null || this.size <= 0) ? ChatSearchCondition.DEFAULT_SIZE : this.size;
+
         return ChatSearchCondition.builder()
                 .content(content)
+                .page(page)
+                .size(Math.min(size, ChatSearchCondition.MAX_SIZE))
                 .build();
     }
 }
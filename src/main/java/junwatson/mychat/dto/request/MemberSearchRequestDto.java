@@ -1,5 +1,6 @@
 package junwatson.mychat.dto.request;
 
+import junwatson.mychat.repository.condition.MemberCursor;
 import junwatson.mychat.repository.condition.MemberSearchCondition;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,11 +17,18 @@ public class MemberSearchRequestDto {
 
     private String name;
     private String email;
+    private String after;
+    private Integer size;
 
     public MemberSearchCondition toCondition() {
+        // 크기가 전달되지 않았거나 부적절하다면 기본값을 사용하고, 최대 크기를 넘지 않도록 함
+        int size = (this.size == null || this.size <= 0) ? MemberSearchCondition.DEFAULT_SIZE : this.size;
+
         return MemberSearchCondition.builder()
                 .name(name)
                 .email(email)
+                .cursor(MemberCursor.decode(after))
+                .size(Math.min(size, MemberSearchCondition.MAX_SIZE))
                 .build();
     }
 }
@@ -0,0 +1,27 @@
+package junwatson.mychat.dto.response;
+
+import junwatson.mychat.domain.type.ChatEventType;
+import junwatson.mychat.event.ChatEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+public class ChatEventResponseDto {
+
+    private ChatEventType type;
+    private Long chatRoomId;
+    private ChatInfoResponseDto chat;
+
+    public static ChatEventResponseDto from(ChatEvent event) {
+        return ChatEventResponseDto.builder()
+                .type(event.getType())
+                .chatRoomId(event.getChatRoomId())
+                .chat(event.getChatInfo())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package junwatson.mychat.dto.response;
+
+import junwatson.mychat.repository.condition.ChatCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+public class ChatHistoryResponseDto {
+
+    private List<ChatInfoResponseDto> chats;
+    private String before;
+
+    /**
+     * 더 이전의 채팅이 없다면 cursor로 null을 전달해, before 값이 비어 있도록 함
+     */
+    public static ChatHistoryResponseDto of(List<ChatInfoResponseDto> chats, ChatCursor cursor) {
+        return ChatHistoryResponseDto.builder()
+                .chats(chats)
+                .before(cursor == null ? null : cursor.encode())
+                .build();
+    }
+}
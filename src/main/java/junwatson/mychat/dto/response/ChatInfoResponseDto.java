@@ -1,5 +1,7 @@
 package junwatson.mychat.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import junwatson.mychat.domain.Chat;
 import junwatson.mychat.domain.type.ChatType;
 import lombok.AllArgsConstructor;
@@ -15,6 +17,11 @@ import static lombok.AccessLevel.PRIVATE;
 @AllArgsConstructor(access = PRIVATE)
 public class ChatInfoResponseDto {
 
+    /**
+     * 스노우플레이크 ID는 2^53을 넘어 JavaScript의 숫자로는 정확히 표현되지 않으므로, JSON에는 문자열로 전달함<br>
+     * 요청에서는 문자열과 숫자를 모두 받을 수 있다
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long chatId;
     private Long memberId;
     private String content;
@@ -25,7 +32,7 @@ public class ChatInfoResponseDto {
     public static ChatInfoResponseDto of(Chat chat, int unconfirmedCounter) {
         return ChatInfoResponseDto.builder()
                 .chatId(chat.getId())
-                .memberId(chat.getMember().getId())
+                .memberId(chat.getMember() == null ? null : chat.getMember().getId())
                 .content(chat.getContent())
                 .inputDate(chat.getInputDate())
                 .chatType(chat.getChatType())
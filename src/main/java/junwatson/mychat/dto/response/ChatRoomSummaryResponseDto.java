@@ -0,0 +1,48 @@
+package junwatson.mychat.dto.response;
+
+import junwatson.mychat.repository.projection.ChatRoomSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+public class ChatRoomSummaryResponseDto {
+
+    private Long id;
+    private String name;
+    private String profileUrl;
+    private String lastChatContent;
+    private LocalDateTime lastChatDate;
+    private int unconfirmedCounter;
+
+    /**
+     * 이름은 ChatRoomInfoResponseDto와 같은 순서(별명, 채팅방 이름, 다른 회원들의 이름)로 정함
+     */
+    public static ChatRoomSummaryResponseDto from(ChatRoomSummary summary) {
+        String profileUrl = summary.getAliasProfileUrl() == null ? summary.getProfileUrl() : summary.getAliasProfileUrl();
+        String name = summary.getAliasName();
+
+        if (!StringUtils.hasText(name)) {
+            name = summary.getName();
+        }
+        if (!StringUtils.hasText(name)) {
+            name = String.join(", ", summary.getOtherMemberNames());
+        }
+
+        return ChatRoomSummaryResponseDto.builder()
+                .id(summary.getId())
+                .name(name)
+                .profileUrl(profileUrl)
+                .lastChatContent(summary.getLastChatContent())
+                .lastChatDate(summary.getLastChatDate())
+                .unconfirmedCounter(summary.getUnconfirmedCounter())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package junwatson.mychat.dto.response;
+
+import junwatson.mychat.repository.condition.MemberCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+public class MemberSearchResponseDto {
+
+    private List<MemberInfoResponseDto> members;
+    private String after;
+
+    /**
+     * 더 이상 검색 결과가 없다면 cursor로 null을 전달해, after 값이 비어 있도록 함
+     */
+    public static MemberSearchResponseDto of(List<MemberInfoResponseDto> members, MemberCursor cursor) {
+        return MemberSearchResponseDto.builder()
+                .members(members)
+                .after(cursor == null ? null : cursor.encode())
+                .build();
+    }
+}
@@ -14,10 +14,16 @@ public class ReissueAccessTokenResponseDto {
 
     @SerializedName("access_token")
     private String accessToken;
+    @SerializedName("refresh_token")
+    private String refreshToken;
 
-    public static ReissueAccessTokenResponseDto from(String accessToken) {
+    /**
+     * 재발급에 사용된 리프레시 토큰은 폐기되므로, 새로 발급된 리프레시 토큰을 함께 전달한다
+     */
+    public static ReissueAccessTokenResponseDto of(String accessToken, String refreshToken) {
         return ReissueAccessTokenResponseDto.builder()
                 .accessToken(accessToken)
+                .refreshToken(refreshToken)
                 .build();
     }
 }
\ No newline at end of file
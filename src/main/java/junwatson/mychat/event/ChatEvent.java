@@ -0,0 +1,37 @@
+package junwatson.mychat.event;
+
+import junwatson.mychat.domain.Chat;
+import junwatson.mychat.domain.type.ChatEventType;
+import junwatson.mychat.dto.response.ChatInfoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * 채팅이 생성, 수정, 삭제되었음을 알리는 이벤트<br>
+ * 채팅의 ID는 트랜잭션이 커밋될 때 할당되므로, 엔티티로부터 생성된 이벤트는 커밋 이후에 응답을 만들도록 함
+ */
+@AllArgsConstructor(access = PRIVATE)
+public class ChatEvent {
+
+    @Getter
+    private ChatEventType type;
+    @Getter
+    private Long chatRoomId;
+    private Supplier<ChatInfoResponseDto> chatInfo;
+
+    public static ChatEvent of(ChatEventType type, Chat chat, int unconfirmedCounter) {
+        return new ChatEvent(type, chat.getChatRoom().getId(), () -> ChatInfoResponseDto.of(chat, unconfirmedCounter));
+    }
+
+    public static ChatEvent of(ChatEventType type, Long chatRoomId, ChatInfoResponseDto chatInfo) {
+        return new ChatEvent(type, chatRoomId, () -> chatInfo);
+    }
+
+    public ChatInfoResponseDto getChatInfo() {
+        return chatInfo.get();
+    }
+}
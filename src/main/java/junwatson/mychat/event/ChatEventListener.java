@@ -0,0 +1,28 @@
+package junwatson.mychat.event;
+
+import junwatson.mychat.dto.response.ChatEventResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+
+@Component
+@RequiredArgsConstructor
+public class ChatEventListener {
+
+    public static final String CHAT_ROOM_TOPIC_PREFIX = "/topic/room/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * 커밋된 채팅 변경 사항을 채팅방 토픽을 구독 중인 회원들에게 전달하는 메서드<br>
+     * 롤백된 트랜잭션의 채팅이 전달되지 않도록 커밋 이후에만 실행된다<br>
+     * 쓰기 지연 모드처럼 트랜잭션을 커밋한 뒤 발행된 이벤트는 즉시 전달한다
+     */
+    @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)
+    public void publish(ChatEvent event) {
+        messagingTemplate.convertAndSend(CHAT_ROOM_TOPIC_PREFIX + event.getChatRoomId(), ChatEventResponseDto.from(event));
+    }
+}
@@ -0,0 +1,61 @@
+package junwatson.mychat.ingestion;
+
+import junwatson.mychat.domain.type.ChatType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public class ChatBatchWriter {
+
+    /**
+     * 식별자가 중복되더라도 넘어가지 않고 예외로 전달하여, 재시작 시 다시 저장된 채팅인지 식별자가 겹친 다른 채팅인지 구분하도록 함
+     */
+    private static final String INSERT_CHAT_SQL =
+            "insert into chat (id, member_id, chat_room_id, content, input_date, chat_type) values (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * 탈퇴한 회원의 채팅은 작성자가 비워지므로, 작성자가 없는 채팅도 같은 채팅으로 판단함
+     */
+    private static final String COUNT_STORED_CHAT_SQL =
+            "select count(*) from chat where id = ? and chat_room_id = ? and content = ? and (member_id = ? or member_id is null)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChatBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 채팅들을 하나의 트랜잭션에서 JDBC 배치로 저장하는 메서드<br>
+     * application.yml에서 rewriteBatchedStatements=true를 지정하므로, MySQL에서는 배치가 여러 행을 담은 하나의 INSERT로 전송된다
+     */
+    public void write(List<ChatIngestionEntry> entries) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_CHAT_SQL, entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getId());
+                    ps.setLong(2, entry.getMemberId());
+                    ps.setLong(3, entry.getChatRoomId());
+                    ps.setString(4, entry.getContent());
+                    ps.setTimestamp(5, Timestamp.valueOf(entry.getInputDate()));
+                    ps.setString(6, ChatType.USER.name());
+                }));
+    }
+
+    /**
+     * 같은 식별자로 저장된 채팅이 해당 채팅과 같은 채팅인지 확인하는 메서드<br>
+     * 저장 후 내용이 변경된 채팅은 다른 채팅으로 판단되지만, dead-letter 파일로 옮겨질 뿐 저장된 채팅은 그대로 남는다
+     */
+    public boolean isStored(ChatIngestionEntry entry) {
+        Long count = jdbcTemplate.queryForObject(COUNT_STORED_CHAT_SQL, Long.class,
+                entry.getId(), entry.getChatRoomId(), entry.getContent(), entry.getMemberId());
+
+        return count != null && count > 0;
+    }
+}
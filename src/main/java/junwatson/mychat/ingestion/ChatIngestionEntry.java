@@ -0,0 +1,40 @@
+package junwatson.mychat.ingestion;
+
+import junwatson.mychat.domain.id.SnowflakeIdGenerator;
+import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.dto.response.ChatInfoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * DB에 저장되기 전, 저널에 기록되어 대기 중인 채팅
+ */
+@Getter
+@AllArgsConstructor(access = PRIVATE)
+public class ChatIngestionEntry {
+
+    private Long id;
+    private Long memberId;
+    private Long chatRoomId;
+    private String content;
+    private LocalDateTime inputDate;
+
+    public static ChatIngestionEntry of(Long memberId, Long chatRoomId, String content) {
+        return new ChatIngestionEntry(SnowflakeIdGenerator.nextId(), memberId, chatRoomId, content, LocalDateTime.now());
+    }
+
+    public ChatInfoResponseDto toResponseDto(int unconfirmedCounter) {
+        return ChatInfoResponseDto.builder()
+                .chatId(id)
+                .memberId(memberId)
+                .content(content)
+                .inputDate(inputDate)
+                .chatType(ChatType.USER)
+                .unconfirmedCounter(unconfirmedCounter)
+                .build();
+    }
+}
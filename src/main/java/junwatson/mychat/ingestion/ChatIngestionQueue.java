@@ -0,0 +1,231 @@
+package junwatson.mychat.ingestion;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import junwatson.mychat.ingestion.ChatJournal.PendingEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅을 저널에 기록한 즉시 응답하고, 백그라운드 스레드가 모아서 DB에 저장하도록 하는 큐<br>
+ * 최대 max-batch-size개의 채팅을 모으거나, 첫 채팅이 들어온 뒤 linger-millis가 지나면 한 번에 저장한다<br>
+ * 배치 저장이 MAX_ATTEMPTS번 연속으로 실패하거나 제약 조건을 위반하면 채팅을 하나씩 저장하며, 저장할 수 없는 채팅은 dead-letter 파일로 옮긴다
+ */
+@Component
+@Slf4j
+public class ChatIngestionQueue {
+
+    private static final long RETRY_DELAY_MILLIS = 1000L;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final Path journalDirectory;
+    private final ChatBatchWriter chatBatchWriter;
+    private final BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock offerLock = new ReentrantLock();
+
+    private ChatJournal journal;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public ChatIngestionQueue(
+            @Value("${chat.ingestion.write-behind}") boolean enabled,
+            @Value("${chat.ingestion.max-batch-size}") int maxBatchSize,
+            @Value("${chat.ingestion.linger-millis}") long lingerMillis,
+            @Value("${chat.ingestion.journal-path}") String journalPath,
+            ChatBatchWriter chatBatchWriter) {
+
+        if (maxBatchSize <= 0 || lingerMillis < 0) {
+            throw new IllegalArgumentException("max-batch-size는 양수, linger-millis는 0 이상이어야 합니다.");
+        }
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.journalDirectory = Path.of(journalPath);
+        this.chatBatchWriter = chatBatchWriter;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        // 이전 실행에서 저장하지 못한 채팅을 먼저 큐에 넣음
+        journal = new ChatJournal(journalDirectory);
+        List<PendingEntry> uncommitted = journal.readUncommitted();
+        queue.addAll(uncommitted);
+        log.info("ChatIngestionQueue recovered {} chats from journal", uncommitted.size());
+
+        running = true;
+        writerThread = new Thread(this::drain, "chat-ingestion-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 채팅을 저널에 기록하고 저장 대기열에 추가하는 메서드<br>
+     * 이 메서드가 반환되면 채팅은 디스크에 기록된 상태이므로, 서버가 종료되더라도 재시작 시 저장된다<br>
+     * fsync를 기다리는 동안 트랜잭션과 DB 커넥션을 붙잡지 않도록, 트랜잭션 밖에서 호출해야 한다
+     */
+    public void offer(ChatIngestionEntry entry) {
+        if (!running) {
+            throw new IllegalStateException("채팅 저장 대기열이 동작하고 있지 않습니다.");
+        }
+
+        try {
+            // 저널 기록 순서와 대기열 순서가 같아야 체크포인트가 올바르게 기록되므로, 함께 잠금
+            PendingEntry pending;
+            offerLock.lock();
+            try {
+                pending = journal.append(entry);
+                queue.add(pending);
+            } finally {
+                offerLock.unlock();
+            }
+
+            // 디스크 반영은 잠금 밖에서 기다려, 동시에 들어온 채팅들이 한 번의 fsync로 함께 반영되도록 함
+            journal.sync(pending.getSequence());
+        } catch (IOException e) {
+            throw new IllegalStateException("채팅을 저널에 기록하는 데 실패했습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+
+        // 대기 중인 채팅을 모두 저장한 뒤 종료
+        running = false;
+        writerThread.interrupt();
+        writerThread.join();
+        journal.close();
+    }
+
+    private void drain() {
+        List<PendingEntry> batch = new ArrayList<>(maxBatchSize);
+        int failedAttempts = 0;
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    collect(batch);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                if (failedAttempts >= MAX_ATTEMPTS) {
+                    writeOneByOne(batch);
+                } else {
+                    // 저널보다 DB에 먼저 저장되는 일이 없도록, 배치의 마지막 채팅까지 디스크에 반영된 뒤 저장함
+                    journal.sync(batch.getLast().getSequence());
+                    chatBatchWriter.write(batch.stream().map(PendingEntry::getEntry).toList());
+                    journal.commit(batch.getLast().getPosition());
+                    batch.clear();
+                }
+                failedAttempts = 0;
+            } catch (InterruptedException e) {
+                // 종료 요청을 받으면, 남은 채팅은 기다리지 않고 바로 모아서 저장함
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            } catch (DataIntegrityViolationException e) {
+                // 제약 조건 위반은 다시 시도해도 같은 결과이므로, 바로 하나씩 저장해 원인이 된 채팅만 걸러냄
+                log.warn("Chat batch of size {} violated a constraint, writing one by one", batch.size(), e);
+                failedAttempts = MAX_ATTEMPTS;
+            } catch (Exception e) {
+                // 저장에 실패한 배치는 버리지 않고 잠시 후 다시 시도함
+                failedAttempts++;
+                log.error("Failed to write chat batch of size {} (attempt {})", batch.size(), failedAttempts, e);
+                if (!running || !sleepBeforeRetry()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 저장이 반복해서 실패했을 때, 채팅을 하나씩 저장해 실패의 원인이 된 채팅만 걸러내는 메서드<br>
+     * 탈퇴한 회원이나 삭제된 채팅방을 참조하는 채팅처럼 다시 시도해도 실패할 채팅은 dead-letter 파일로 옮긴 뒤 체크포인트를 넘기고,
+     * 연결 오류처럼 일시적인 실패라면 남은 채팅을 배치에 둔 채 예외를 던져 잠시 후 다시 시도하도록 한다<br>
+     * 식별자가 중복된 채팅은 재시작 전에 이미 저장된 같은 채팅일 때만 넘어가고, 식별자가 겹친 다른 채팅이라면 dead-letter 파일로 옮긴다
+     */
+    private void writeOneByOne(List<PendingEntry> batch) throws IOException {
+        Iterator<PendingEntry> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            PendingEntry pending = iterator.next();
+            journal.sync(pending.getSequence());
+            try {
+                chatBatchWriter.write(List.of(pending.getEntry()));
+            } catch (DuplicateKeyException e) {
+                if (chatBatchWriter.isStored(pending.getEntry())) {
+                    log.info("Chat {} was already stored before restart", pending.getEntry().getId());
+                } else {
+                    log.error("Moving chat {} to dead letter, its id collides with another chat", pending.getEntry().getId(), e);
+                    journal.deadLetter(pending.getEntry());
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.error("Moving chat {} to dead letter", pending.getEntry().getId(), e);
+                journal.deadLetter(pending.getEntry());
+            }
+            journal.commit(pending.getPosition());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 첫 채팅을 기다린 뒤, 배치가 가득 차거나 linger 시간이 지날 때까지 채팅을 모으는 메서드
+     */
+    private void collect(List<PendingEntry> batch) throws InterruptedException {
+        PendingEntry first = queue.poll(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+
+            PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private boolean sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            // 종료 요청을 받았다면, 남은 채팅은 저널에 남겨두고 다음 실행 시 저장함
+            return false;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package junwatson.mychat.ingestion;
+
+import com.google.gson.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 채팅을 DB에 저장하기 전에 기록해 두는 추가 전용(append-only) 파일<br>
+ * 어디까지 DB에 저장되었는지는 체크포인트 파일에 기록하며, 재시작 시 체크포인트 이후의 채팅을 다시 저장한다<br>
+ * 디스크 반영(fsync)은 그룹 커밋으로 처리하여, 동시에 기록된 채팅들은 한 번의 fsync로 함께 반영된다
+ */
+@Slf4j
+public class ChatJournal implements Closeable {
+
+    private static final String JOURNAL_FILE_NAME = "chat.journal";
+    private static final String CHECKPOINT_FILE_NAME = "chat.checkpoint";
+    private static final String DEAD_LETTER_FILE_NAME = "chat.dead-letter";
+
+    private final Path checkpointPath;
+    private final Path deadLetterPath;
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, (JsonSerializer<LocalDateTime>) (src, type, context) -> new JsonPrimitive(src.toString()))
+            .registerTypeAdapter(LocalDateTime.class, (JsonDeserializer<LocalDateTime>) (json, type, context) -> LocalDateTime.parse(json.getAsString()))
+            .create();
+
+    // 지금까지 기록된 채팅 수와 디스크에 반영된 채팅 수(저널을 비워도 초기화되지 않음)
+    private long appendedCount;
+    private long syncedCount;
+    private boolean syncing;
+
+    public ChatJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.checkpointPath = directory.resolve(CHECKPOINT_FILE_NAME);
+        this.deadLetterPath = directory.resolve(DEAD_LETTER_FILE_NAME);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE_NAME), CREATE, READ, WRITE);
+        this.channel.position(channel.size());
+    }
+
+    /**
+     * 채팅을 저널 끝에 기록하는 메서드<br>
+     * 디스크 반영은 기다리지 않으므로, 반환된 순번으로 sync를 호출해야 기록이 보장된다
+     */
+    public PendingEntry append(ChatIngestionEntry entry) throws IOException {
+        byte[] line = (gson.toJson(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            appendedCount++;
+
+            return new PendingEntry(entry, channel.position(), appendedCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 해당 순번까지의 채팅이 디스크에 반영될 때까지 기다리는 메서드<br>
+     * 먼저 도착한 스레드가 그때까지 기록된 모든 채팅을 한 번에 fsync하고, 나머지 스레드는 그 결과를 기다린다
+     */
+    public void sync(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (syncedCount < sequence) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+
+                // fsync 중에도 다른 스레드가 채팅을 기록할 수 있도록, 락을 놓은 채로 디스크에 반영함
+                long target = appendedCount;
+                syncing = true;
+                lock.unlock();
+                try {
+                    channel.force(false);
+                } finally {
+                    lock.lock();
+                    syncing = false;
+                    synced.signalAll();
+                }
+                syncedCount = Math.max(syncedCount, target);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 체크포인트 이후에 기록되어, 아직 DB에 저장되지 않았을 수 있는 채팅을 반환하는 메서드
+     */
+    public List<PendingEntry> readUncommitted() throws IOException {
+        lock.lock();
+        try {
+            List<PendingEntry> entries = new ArrayList<>();
+            long position = readCheckpoint();
+
+            // 이미 디스크에 있는 채팅이므로, sync가 필요 없는 순번 0으로 반환함
+            channel.position(position);
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                position += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (!line.isBlank()) {
+                    entries.add(new PendingEntry(gson.fromJson(line, ChatIngestionEntry.class), position, 0));
+                }
+            }
+            channel.position(channel.size());
+
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 해당 위치까지의 채팅이 DB에 저장되었음을 기록하는 메서드<br>
+     * 저널의 모든 채팅이 저장되었다면, 파일이 계속 커지지 않도록 저널을 비운다
+     */
+    public void commit(long position) throws IOException {
+        lock.lock();
+        try {
+            if (position == channel.size()) {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+                position = 0;
+            }
+
+            Path temp = checkpointPath.resolveSibling(CHECKPOINT_FILE_NAME + ".tmp");
+            Files.writeString(temp, Long.toString(position), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointPath, ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다시 시도해도 저장할 수 없는 채팅을 별도의 파일에 기록하는 메서드<br>
+     * 기록된 채팅은 체크포인트를 넘겨도 사라지지 않으므로, 원인을 확인한 뒤 직접 처리할 수 있다
+     */
+    public void deadLetter(ChatIngestionEntry entry) throws IOException {
+        lock.lock();
+        try {
+            Files.writeString(deadLetterPath, gson.toJson(entry) + "\n", StandardCharsets.UTF_8, CREATE, WRITE, APPEND, SYNC);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+
+        long checkpoint = Long.parseLong(Files.readString(checkpointPath, StandardCharsets.UTF_8).trim());
+
+        // 저널을 비운 직후 체크포인트를 기록하지 못하고 종료되었다면, 처음부터 다시 읽음
+        return checkpoint > channel.size() ? 0 : checkpoint;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PendingEntry {
+        private ChatIngestionEntry entry;
+        private long position;
+        private long sequence;
+    }
+}
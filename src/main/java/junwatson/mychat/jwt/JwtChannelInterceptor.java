@@ -0,0 +1,75 @@
+package junwatson.mychat.jwt;
+
+import io.jsonwebtoken.Claims;
+import junwatson.mychat.event.ChatEventListener;
+import junwatson.mychat.service.ChatRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+import static junwatson.mychat.jwt.TokenConstant.AUTHORIZATION;
+
+/**
+ * STOMP 연결 시 엑세스 토큰으로 회원을 인증하고, 소속된 채팅방의 토픽만 구독할 수 있도록 하는 인터셉터
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    private final TokenProvider tokenProvider;
+    private final ChatRoomService chatRoomService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String token = tokenProvider.resolveToken(accessor.getFirstNativeHeader(AUTHORIZATION));
+            if (!StringUtils.hasText(token)) {
+                throw new AccessDeniedException("부적절한 엑세스 토큰입니다.");
+            }
+            Claims claims = tokenProvider.findAccessClaims(token)
+                    .orElseThrow(() -> new AccessDeniedException("부적절한 엑세스 토큰입니다."));
+            accessor.setUser(tokenProvider.getAuthentication(claims));
+        }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            validateSubscription(accessor.getUser(), accessor.getDestination());
+        }
+
+        return message;
+    }
+
+    /**
+     * 채팅방 토픽을 구독하려 할 경우, 해당 채팅방에 소속된 회원인지 확인하는 메서드
+     */
+    private void validateSubscription(Principal principal, String destination) {
+        if (principal == null) {
+            throw new AccessDeniedException("인증되지 않은 회원입니다.");
+        }
+        if (destination == null || !destination.startsWith(ChatEventListener.CHAT_ROOM_TOPIC_PREFIX)) {
+            throw new AccessDeniedException("구독할 수 없는 경로입니다.");
+        }
+
+        try {
+            Long memberId = Long.parseLong(principal.getName());
+            Long chatRoomId = Long.parseLong(destination.substring(ChatEventListener.CHAT_ROOM_TOPIC_PREFIX.length()));
+            if (!chatRoomService.isMember(memberId, chatRoomId)) {
+                throw new AccessDeniedException("해당 채팅방에 소속되어 있지 않습니다.");
+            }
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("구독할 수 없는 경로입니다.");
+        }
+    }
+}
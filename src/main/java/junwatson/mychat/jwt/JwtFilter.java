@@ -24,10 +24,13 @@ public class JwtFilter extends GenericFilterBean {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain) throws IOException, ServletException {
         String token = tokenProvider.resolveToken((HttpServletRequest) request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token) && tokenProvider.hasProperType(token, TokenType.ACCESS)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
+        // 토큰은 한 번만 파싱하며, 이미 검증된 토큰이라면 캐시에서 Claims를 조회함
+        if (StringUtils.hasText(token)) {
+            tokenProvider.findAccessClaims(token).ifPresent(claims -> {
+                Authentication authentication = tokenProvider.getAuthentication(claims);
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
         filterChain.doFilter(request, response);
     }
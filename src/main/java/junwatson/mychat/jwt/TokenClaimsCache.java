@@ -0,0 +1,66 @@
+package junwatson.mychat.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 검증이 끝난 토큰의 Claims를 만료 시각까지 보관하는 캐시<br>
+ * 토큰 원문 대신 토큰의 SHA-256 해시를 키로 사용하며, 최대 크기를 넘으면 자주 쓰이지 않는 값부터 제거하고 새 값은 항상 저장한다
+ */
+public class TokenClaimsCache {
+
+    public static final int MAX_SIZE = 10_000;
+
+    private final Cache<String, Claims> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfter(new ClaimsExpiry())
+            .build();
+
+    /**
+     * 캐시된 Claims를 반환하는 메서드로, 값이 없거나 만료되었다면 null을 반환한다
+     */
+    public Claims get(String token) {
+        return cache.getIfPresent(TokenHash.of(token));
+    }
+
+    /**
+     * 만료 시각이 있는 Claims만 저장하는 메서드
+     */
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+
+        cache.put(TokenHash.of(token), claims);
+    }
+
+    public int size() {
+        return (int) cache.estimatedSize();
+    }
+
+    /**
+     * 각 Claims를 토큰의 만료 시각에 캐시에서 제거함
+     */
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package junwatson.mychat.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import junwatson.mychat.domain.Member;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.domain.type.MemberRole;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,24 +18,55 @@ import org.springframework.util.StringUtils;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static junwatson.mychat.jwt.TokenConstant.*;
 
 @Component
-@Slf4j
 public class TokenProvider {
 
+    private final JwtParser parser;
+    private final TokenClaimsCache claimsCache = new TokenClaimsCache();
+    private final Timer parseTimer;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+
+    /**
+     * JwtParser는 불변이며 스레드 안전하므로 한 번만 생성해 재사용한다<br>
+     * TokenConstant가 KEY를 초기화한 뒤에 파서를 생성할 수 있도록 주입받음
+     */
+    public TokenProvider(TokenConstant tokenConstant, MeterRegistry registry) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(KEY)
+                .build();
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("토큰 파싱 및 서명 검증에 걸린 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.cacheHitCounter = Counter.builder("jwt.claims.cache")
+                .tag("result", "hit")
+                .register(registry);
+        this.cacheMissCounter = Counter.builder("jwt.claims.cache")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
     public String createAccessToken(Member member) {
-        log.info("TokenProvider.createAccessToken() called");
+        return createAccessToken(member.getId(), member.getRole());
+    }
 
+    /**
+     * 회원 엔티티를 불러오지 않고, 회원 ID와 권한만으로 엑세스 토큰을 생성하는 메서드
+     */
+    public String createAccessToken(Long memberId, MemberRole role) {
         long nowTime = (new Date().getTime());
 
         Date accessTokenExpiredTime = new Date(nowTime + ACCESS_TOKEN_VALIDITY_TIME);
 
         return Jwts.builder()
-                .setSubject(member.getId().toString())
-                .claim(ROLE_CLAIM, member.getRole().name())
+                .setSubject(memberId.toString())
+                .claim(ROLE_CLAIM, role.name())
                 .claim(TOKEN_TYPE_CLAIM, TokenType.ACCESS)
                 .setExpiration(accessTokenExpiredTime)
                 .signWith(KEY, SignatureAlgorithm.HS256)
@@ -40,10 +74,10 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String accessToken) {
-        log.info("TokenProvider.getAuthentication() called");
-
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get(ROLE_CLAIM) == null) {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
@@ -62,10 +96,10 @@ public class TokenProvider {
     }
 
     public String resolveToken(HttpServletRequest request) { //토큰 분해/분석
-        log.info("TokenProvider.resolveToken() called");
-
-        String bearerToken = request.getHeader(AUTHORIZATION);
+        return resolveToken(request.getHeader(AUTHORIZATION));
+    }
 
+    public String resolveToken(String bearerToken) {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER)) {
             return bearerToken.substring(7);
         }
@@ -73,14 +107,58 @@ public class TokenProvider {
         return null;
     }
 
-    public boolean validateToken(String token) {
-        log.info("TokenProvider.validateToken() called");
+    /**
+     * 요청마다 엑세스 토큰을 인증하기 위한 메서드<br>
+     * 서명 검증이 끝난 Claims를 토큰의 해시로 캐싱해, 같은 토큰이 다시 사용되면 파싱과 서명 검증 없이 조회만 한다<br>
+     * 토큰이 부적절하거나, 만료되었거나, 엑세스 토큰이 아니라면 빈 Optional을 반환한다
+     */
+    public Optional<Claims> findAccessClaims(String token) {
+        Claims claims = claimsCache.get(token);
+
+        if (claims == null) {
+            cacheMissCounter.increment();
+            Timer.Sample sample = Timer.start();
+            try {
+                claims = parser.parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            } finally {
+                sample.stop(parseTimer);
+            }
+            claimsCache.put(token, claims);
+        } else {
+            cacheHitCounter.increment();
+        }
 
+        if (!TokenType.ACCESS.name().equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(claims);
+    }
+
+    /**
+     * 리프레시 토큰의 서명과 만료 여부, 토큰 종류를 확인하는 메서드<br>
+     * 리프레시 토큰은 재발급 시 한 번만 사용되므로 Claims를 캐싱하지 않는다
+     */
+    public Optional<Claims> findRefreshClaims(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(KEY)
-                    .build()
-                    .parseClaimsJws(token);
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!TokenType.REFRESH.name().equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(claims);
+    }
+
+    public boolean validateToken(String token) {
+        try {
+            parser.parseClaimsJws(token);
             return true;
         } catch (UnsupportedJwtException | ExpiredJwtException | IllegalArgumentException | MalformedJwtException e) {
             return false;
@@ -88,8 +166,6 @@ public class TokenProvider {
     }
 
     public boolean hasProperType(String token, TokenType tokenType) {
-        log.info("TokenProvider.hasProperType() called");
-
         Claims claims = parseClaims(token);
         String tokenTypeClaim = (String) claims.get(TOKEN_TYPE_CLAIM);
 
@@ -97,13 +173,8 @@ public class TokenProvider {
     }
 
     public Claims parseClaims(String accessToken) {
-        log.info("TokenProvider.parseClaims() called");
-
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(KEY)
-                    .build()
-                    .parseClaimsJws(accessToken)
+            return parser.parseClaimsJws(accessToken)
                     .getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
@@ -0,0 +1,55 @@
+package junwatson.mychat.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 채팅방 크기와 한 번에 조회되는 채팅 수의 분포를 기록하는 클래스<br>
+ * 채팅방 인원 제한이나 페이지 크기 등 용량 한도를 실제 데이터를 바탕으로 정하기 위해 사용한다
+ */
+@Component
+public class ChatMetrics {
+
+    private final DistributionSummary roomSize;
+    private final Map<ReadOperation, DistributionSummary> returnedChats = new EnumMap<>(ReadOperation.class);
+
+    public ChatMetrics(MeterRegistry registry) {
+        this.roomSize = DistributionSummary.builder("chat.room.size")
+                .description("채팅을 작성하거나 조회한 채팅방의 회원 수")
+                .baseUnit("members")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        // 조회할 때마다 등록하지 않도록 조회 종류별로 미리 등록함
+        for (ReadOperation operation : ReadOperation.values()) {
+            returnedChats.put(operation, DistributionSummary.builder("chat.read.messages")
+                    .description("한 번의 조회로 반환된 채팅 수")
+                    .baseUnit("messages")
+                    .tag("operation", operation.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void recordRoomSize(int size) {
+        roomSize.record(size);
+    }
+
+    /**
+     * 조회 종류별로 한 번에 반환된 채팅 수를 기록하는 메서드
+     */
+    public void recordReturnedChats(ReadOperation operation, int count) {
+        returnedChats.get(operation).record(count);
+    }
+
+    /**
+     * 채팅 조회 종류로, 소문자로 바꾼 이름을 operation 태그의 값으로 사용한다
+     */
+    public enum ReadOperation {
+        READ, HISTORY, SEARCH
+    }
+}
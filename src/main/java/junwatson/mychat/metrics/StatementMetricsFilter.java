@@ -0,0 +1,40 @@
+package junwatson.mychat.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 하나를 처리하는 동안 Hibernate가 실행한 SQL 문의 수를 기록하는 필터<br>
+ * 지연 로딩으로 인한 N+1 문제가 어떤 요청에서 발생하는지 확인하기 위해 사용한다
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final DistributionSummary statements;
+
+    public StatementMetricsFilter(MeterRegistry registry) {
+        this.statements = DistributionSummary.builder("hibernate.statements.per.request")
+                .description("요청 하나를 처리하는 동안 실행된 SQL 문의 수")
+                .baseUnit("statements")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.record(StatementCounter.count());
+        }
+    }
+}
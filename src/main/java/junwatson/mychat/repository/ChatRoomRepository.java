@@ -1,25 +1,36 @@
 package junwatson.mychat.repository;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import junwatson.mychat.domain.Chat;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.MemberChatRoom;
+import junwatson.mychat.domain.QChat;
 import junwatson.mychat.repository.condition.MemberChatRoomSearchCondition;
 import junwatson.mychat.repository.dao.MemberChatRoomDao;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.projection.ChatRoomSummary;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static junwatson.mychat.domain.QChat.chat;
 import static junwatson.mychat.domain.QChatRoom.chatRoom;
+import static junwatson.mychat.domain.QMemberChatRoom.memberChatRoom;
 
 @Repository
-@Slf4j
 public class ChatRoomRepository {
 
     private final EntityManager em;
@@ -33,22 +44,16 @@ public class ChatRoomRepository {
     }
 
     public ChatRoom save(ChatRoom chatRoom) {
-        log.info("ChatRoomRepository.save() called");
-
         em.persist(chatRoom);
 
         return chatRoom;
     }
 
     public Optional<ChatRoom> findById(Long id) {
-        log.info("ChatRoomRepository.findById() called");
-
         return Optional.ofNullable(em.find(ChatRoom.class, id));
     }
 
     public void leaveChatRoom(MemberChatRoom memberChatRoom) {
-        log.info("ChatRoomRepository.leaveChatRoom() called");
-
         // MemberChatRoom의 부모 엔티티로부터 삭제
         memberChatRoomDao.removeMemberChatRoom(memberChatRoom);
 
@@ -56,31 +61,175 @@ public class ChatRoomRepository {
         removeChatRoomIfEmpty(memberChatRoom.getChatRoom());
     }
 
-    public void leaveAllChatRooms(Member member) {
-        log.info("ChatRoomRepository.leaveAllChatRooms() called");
+    /**
+     * 회원이 나간 채팅방들의 남은 회원 수를 한 번에 조회하고, 비어 있는 채팅방은 채팅과 함께 삭제하는 메서드<br>
+     * 채팅방 엔티티와 컬렉션을 불러오지 않으며, 회원이 남아 있는 채팅방의 ID와 남은 회원 수를 반환한다
+     */
+    public Map<Long, Long> removeChatRoomsIfEmpty(Collection<Long> chatRoomIds) {
+        if (chatRoomIds.isEmpty()) {
+            return Map.of();
+        }
 
-        List<MemberChatRoom> removeChatRooms = new ArrayList<>(member.getMemberChatRooms());
+        var memberCount = memberChatRoom.count();
+        Map<Long, Long> memberCounts = query.select(memberChatRoom.chatRoom.id, memberCount)
+                .from(memberChatRoom)
+                .where(memberChatRoom.chatRoom.id.in(chatRoomIds))
+                .groupBy(memberChatRoom.chatRoom.id)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(row -> row.get(memberChatRoom.chatRoom.id), row -> row.get(memberCount)));
+
+        List<Long> emptyChatRoomIds = chatRoomIds.stream()
+                .filter(chatRoomId -> !memberCounts.containsKey(chatRoomId))
+                .toList();
+        if (!emptyChatRoomIds.isEmpty()) {
+            query.delete(chat)
+                    .where(chat.chatRoom.id.in(emptyChatRoomIds))
+                    .execute();
+            query.delete(chatRoom)
+                    .where(chatRoom.id.in(emptyChatRoomIds))
+                    .execute();
+        }
+
+        return memberCounts;
+    }
 
-        for (MemberChatRoom memberChatRoom : removeChatRooms) {
-            leaveChatRoom(memberChatRoom);
+    /**
+     * 회원이 참여한 채팅방 목록을, 채팅방 수와 관계없이 일정한 횟수의 쿼리로 조회하는 메서드<br>
+     * 1. 채팅방 정보, 마지막 채팅 시각, 읽지 않은 채팅 수<br>
+     * 2. 각 채팅방의 마지막 채팅 내용<br>
+     * 3. 이름이 없는 채팅방의 다른 회원 이름<br>
+     * 마지막 활동 시각이 최근인 채팅방부터 반환한다
+     */
+    public List<ChatRoomSummary> findChatRoomSummaries(MemberSnapshot requestMember) {
+        QChat lastChat = new QChat("lastChat");
+        QChat unconfirmedChat = new QChat("unconfirmedChat");
+        var lastChatDate = JPAExpressions.select(lastChat.inputDate.max())
+                .from(lastChat)
+                .where(lastChat.chatRoom.eq(chatRoom));
+        var unconfirmedCounter = JPAExpressions.select(unconfirmedChat.count())
+                .from(unconfirmedChat)
+                .where(unconfirmedChat.chatRoom.eq(chatRoom), unconfirmedChat.inputDate.gt(memberChatRoom.viewDate));
+
+        List<Tuple> rows = query.select(chatRoom.id, chatRoom.name, chatRoom.profileUrl,
+                        memberChatRoom.aliasName, memberChatRoom.aliasProfileUrl, lastChatDate, unconfirmedCounter)
+                .from(memberChatRoom)
+                .join(memberChatRoom.chatRoom, chatRoom)
+                .where(memberChatRoom.member.id.eq(requestMember.getId()))
+                .fetch();
+
+        List<ChatRoomSummary> summaries = rows.stream()
+                .map(row -> new ChatRoomSummary(row.get(chatRoom.id), row.get(chatRoom.name), row.get(chatRoom.profileUrl),
+                        row.get(memberChatRoom.aliasName), row.get(memberChatRoom.aliasProfileUrl),
+                        row.get(lastChatDate), row.get(unconfirmedCounter)))
+                .sorted(Comparator.comparing(ChatRoomSummary::getLastChatDate, Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+
+        fillLastChatContents(summaries);
+        fillOtherMemberNames(summaries, requestMember);
+
+        return summaries;
+    }
+
+    /**
+     * 별명이 비어 있지 않다면 별명을, 비어 있다면 채팅방 이름을 검색어와 비교하는 조건을 반환하는 메서드
+     */
+    private BooleanExpression nameContains(String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
         }
+
+        return Expressions.stringTemplate("coalesce(nullif({0}, ''), {1})", memberChatRoom.aliasName, chatRoom.name)
+                .contains(name);
     }
 
     private void removeChatRoomIfEmpty(ChatRoom chatRoom) {
-        log.info("ChatRoomRepository.removeChatRoomIfEmpty() called");
-
         if (chatRoom.getMemberChatRooms().isEmpty()) {
             em.remove(chatRoom);
         }
     }
 
-    private BooleanExpression nameLike(String name) {
-        log.info("ChatRoomRepository.nameLike() called");
+    /**
+     * 각 채팅방의 마지막 채팅을 (chat_room_id, input_date) 인덱스로 한 번에 조회해 내용을 채우는 메서드
+     */
+    private void fillLastChatContents(List<ChatRoomSummary> summaries) {
+        BooleanBuilder lastChats = new BooleanBuilder();
+        for (ChatRoomSummary summary : summaries) {
+            if (summary.getLastChatDate() != null) {
+                lastChats.or(chat.chatRoom.id.eq(summary.getId()).and(chat.inputDate.eq(summary.getLastChatDate())));
+            }
+        }
+        if (!lastChats.hasValue()) {
+            return;
+        }
 
-        if (!StringUtils.hasText(name)) {
-            return null;
+        // 작성 시각이 같은 채팅이 여러 개라면 ID가 가장 큰 채팅을 사용
+        Map<Long, Chat> chats = query.selectFrom(chat)
+                .where(lastChats)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(chat -> chat.getChatRoom().getId(), Function.identity(),
+                        (chatA, chatB) -> chatA.getId() > chatB.getId() ? chatA : chatB));
+
+        for (ChatRoomSummary summary : summaries) {
+            Chat lastChat = chats.get(summary.getId());
+            if (lastChat != null) {
+                summary.setLastChatContent(lastChat.getContent());
+            }
+        }
+    }
+
+    /**
+     * 별명과 이름이 모두 없는 채팅방에 한해, 다른 회원들의 이름을 한 번에 조회해 채우는 메서드
+     */
+    private void fillOtherMemberNames(List<ChatRoomSummary> summaries, MemberSnapshot requestMember) {
+        Map<Long, ChatRoomSummary> unnamedSummaries = summaries.stream()
+                .filter(summary -> !StringUtils.hasText(summary.getAliasName()) && !StringUtils.hasText(summary.getName()))
+                .collect(Collectors.toMap(ChatRoomSummary::getId, Function.identity()));
+        if (unnamedSummaries.isEmpty()) {
+            return;
+        }
+
+        List<Tuple> rows = query.select(memberChatRoom.chatRoom.id, memberChatRoom.member.name)
+                .from(memberChatRoom)
+                .where(memberChatRoom.chatRoom.id.in(unnamedSummaries.keySet()), memberChatRoom.member.id.ne(requestMember.getId()))
+                .fetch();
+        for (Tuple row : rows) {
+            unnamedSummaries.get(row.get(memberChatRoom.chatRoom.id))
+                    .getOtherMemberNames()
+                    .add(row.get(memberChatRoom.member.name));
         }
 
-        return chatRoom.name.like("%" + name + "%");
+        // 만약 방에 다른 멤버가 아무도 없다면, 본인 이름을 사용
+        for (ChatRoomSummary summary : unnamedSummaries.values()) {
+            if (summary.getOtherMemberNames().isEmpty()) {
+                summary.getOtherMemberNames().add(requestMember.getName());
+            }
+        }
+    }
+
+    /**
+     * 별명이 있다면 별명, 없다면 채팅방 이름이 검색어를 포함하는 채팅방을 한 번의 쿼리로 조회하는 메서드<br>
+     * (member_id, chat_room_id) 유니크 인덱스로 회원이 참여한 채팅방만 읽은 뒤 채팅방을 함께 불러오며,
+     * 마지막 채팅 시각은 (chat_room_id, input_date) 인덱스로 구해 최근 활동한 채팅방부터 한 페이지만 반환한다
+     */
+    public List<MemberChatRoom> searchMemberChatRooms(Member member, MemberChatRoomSearchCondition condition) {
+        QChat lastChat = new QChat("lastChat");
+        DateTimePath<LocalDateTime> lastChatDate = Expressions.dateTimePath(LocalDateTime.class, "lastChatDate");
+
+        return query.select(memberChatRoom, ExpressionUtils.as(JPAExpressions.select(lastChat.inputDate.max())
+                                .from(lastChat)
+                                .where(lastChat.chatRoom.eq(chatRoom)), lastChatDate))
+                .from(memberChatRoom)
+                .join(memberChatRoom.chatRoom, chatRoom).fetchJoin()
+                .where(memberChatRoom.member.id.eq(member.getId()), nameContains(condition.getName()))
+                // MySQL은 내림차순 정렬 시 NULL을 마지막에 두므로, 채팅이 없는 채팅방은 뒤에 위치함
+                .orderBy(lastChatDate.desc(), chatRoom.id.desc())
+                .offset(condition.getOffset())
+                .limit(condition.getSize())
+                .fetch()
+                .stream()
+                .map(row -> row.get(memberChatRoom))
+                .toList();
     }
 }
@@ -1,15 +1,25 @@
 package junwatson.mychat.repository;
 
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.Member;
+import junwatson.mychat.repository.cache.ChatRoomNameCache;
+import junwatson.mychat.repository.condition.MemberCursor;
 import junwatson.mychat.repository.condition.MemberSearchCondition;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.projection.MemberSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,21 +27,27 @@ import static junwatson.mychat.domain.QMember.member;
 
 @Repository
 @Transactional
-@Slf4j
 public class MemberRepository {
 
+    private static final int NGRAM_TOKEN_SIZE = 2; // MySQL ngram_token_size 기본값
+
     private final EntityManager em;
     private final JPAQueryFactory query;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatRoomNameCache chatRoomNameCache;
+    private final boolean infixIndexEnabled;
 
-    public MemberRepository(EntityManager em) {
+    public MemberRepository(EntityManager em, JdbcTemplate jdbcTemplate, ChatRoomNameCache chatRoomNameCache,
+                            @Value("${member.search.infix-index:false}") boolean infixIndexEnabled) {
         this.em = em;
         this.query = new JPAQueryFactory(em);
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatRoomNameCache = chatRoomNameCache;
+        this.infixIndexEnabled = infixIndexEnabled;
     }
 
     public Optional<Member> findByEmail(String email) {
-        log.info("MemberRepository.findByEmail() called");
-
-        String query = "select m from Member m where m.email=:email";
+        String query = "select m from Member m where m.email=:email and m.withdrawDate is null";
 
         return em.createQuery(query, Member.class)
                 .setParameter("email", email)
@@ -40,93 +56,181 @@ public class MemberRepository {
                 .findAny();
     }
 
+    /**
+     * 여러 이메일에 해당하는 회원들을 IN 쿼리 한 번으로 조회하는 메서드<br>
+     * 존재하지 않는 이메일은 결과에서 제외되므로, 호출하는 측에서 누락 여부를 확인해야 한다
+     */
+    public List<Member> findAllByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+
+        return query.selectFrom(member)
+                .where(member.email.in(emails), member.withdrawDate.isNull())
+                .fetch();
+    }
+
+    /**
+     * 탈퇴 처리 중인 회원을 포함해 해당 이메일이 사용되고 있는지 여부를 반환하는 메서드<br>
+     * 탈퇴 처리가 끝나기 전까지는 이메일 유니크 제약이 유지되므로, 가입 및 이메일 변경 시 중복 확인에 사용한다
+     */
+    public boolean existsByEmail(String email) {
+        return query.selectOne()
+                .from(member)
+                .where(member.email.eq(email))
+                .fetchFirst() != null;
+    }
+
     public Optional<Member> findById(Long id) {
-        log.info("MemberRepository.findById() called");
+        return Optional.ofNullable(em.find(Member.class, id))
+                .filter(findMember -> !findMember.isWithdrawn());
+    }
 
-        return Optional.ofNullable(em.find(Member.class, id));
+    public Optional<Member> findWithdrawnMember(Long id) {
+        return Optional.ofNullable(em.find(Member.class, id))
+                .filter(Member::isWithdrawn);
     }
 
-    public Member save(Member member) {
-        log.info("MemberRepository.save() called");
+    /**
+     * 탈퇴 처리가 끝나지 않은 회원들의 ID를 조회하는 메서드로, 서버 재시작 시 중단된 탈퇴 작업을 이어서 처리하기 위해 사용한다
+     */
+    public List<Long> findWithdrawnMemberIds() {
+        return query.select(member.id)
+                .from(member)
+                .where(member.withdrawDate.isNotNull())
+                .fetch();
+    }
 
+    /**
+     * 엔티티를 영속성 컨텍스트에 올리지 않고, 요청한 회원을 식별하는 데 필요한 값만 조회하는 메서드
+     */
+    public Optional<MemberSnapshot> findSnapshotById(Long id) {
+        return Optional.ofNullable(query.select(Projections.constructor(MemberSnapshot.class,
+                        member.id, member.email, member.name, member.role, member.profileUrl))
+                .from(member)
+                .where(member.id.eq(id), member.withdrawDate.isNull())
+                .fetchOne());
+    }
+
+    public Member save(Member member) {
         em.persist(member);
 
         return member;
     }
 
-    public Member delete(Member member) {
-        log.info("MemberRepository.delete() called");
+    public void withdraw(Member member) {
+        member.withdraw();
+    }
 
-        em.flush();
-        em.remove(member);
+    /**
+     * 탈퇴 처리 중인 회원의 탈퇴 작업을 owner 서버가 맡는 메서드로, 맡았다면 true를 반환한다<br>
+     * 아무도 맡지 않았거나, 이미 owner가 맡았거나, 맡은 서버가 staleBefore 이후로 갱신하지 않은 작업만 맡을 수 있다<br>
+     * 확인과 변경을 조건부 UPDATE 한 번으로 처리하므로, 여러 서버가 동시에 호출해도 한 서버만 성공한다<br>
+     * 대량 UPDATE는 회원의 2차 캐시 영역 전체를 무효화하므로, JPA 대신 JDBC로 변경한다
+     */
+    public boolean claimWithdrawal(Long memberId, String owner, LocalDateTime staleBefore) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.update("update member set withdrawal_claimed_by = ?, withdrawal_claimed_at = ? " +
+                        "where id = ? and withdraw_date is not null " +
+                        "and (withdrawal_claimed_by is null or withdrawal_claimed_by = ? or withdrawal_claimed_at < ?)",
+                owner, now, memberId, owner, Timestamp.valueOf(staleBefore)) > 0;
+    }
 
-        return member;
+    /**
+     * owner 서버가 맡은 탈퇴 작업의 갱신 시각을 현재로 변경하는 메서드<br>
+     * 다른 서버가 작업을 가져갔다면 false를 반환한다
+     */
+    public boolean renewWithdrawalClaim(Long memberId, String owner) {
+        return jdbcTemplate.update("update member set withdrawal_claimed_at = ? where id = ? and withdrawal_claimed_by = ?",
+                Timestamp.valueOf(LocalDateTime.now()), memberId, owner) > 0;
     }
 
-    public void updateEmail(Member member, String email) {
-        log.info("MemberRepository.updateEmail() called");
+    /**
+     * 탈퇴 처리 중인 회원을 삭제하는 메서드<br>
+     * 관련 데이터가 모두 정리된 뒤에 호출되어야 하며, 엔티티를 불러오지 않고 한 번의 DELETE로 삭제한다
+     */
+    public long deleteWithdrawnMember(Long memberId) {
+        return query.delete(member)
+                .where(member.id.eq(memberId), member.withdrawDate.isNotNull())
+                .execute();
+    }
 
+    public void updateEmail(Member member, String email) {
         member.setEmail(email);
     }
 
     public void updatePassword(Member member, String password) {
-        log.info("MemberRepository.updatePassword() called");
-
         member.setPassword(password);
     }
 
     public void updateName(Member member, String name) {
-        log.info("MemberRepository.updateName() called");
-
         member.setName(name);
+
+        // 회원이 참여한 채팅방들의 기본 이름에 변경된 이름이 반영되도록 함
+        chatRoomNameCache.evictAll(member);
     }
 
     public void updateProfileUrl(Member member, String profileUrl) {
-        log.info("MemberRepository.updateProfileUrl() called");
-
         member.setProfileUrl(profileUrl);
     }
 
+    /**
+     * 조건에 맞는 회원을 (정렬 기준 값, id) 순으로, 커서 이후부터 요청한 크기보다 1개 더 조회하는 메서드<br>
+     * 검색어는 기본적으로 B-tree 인덱스를 탈 수 있는 접두사 일치로 비교하며, 부분 일치 인덱스가 켜져 있다면 ngram FULLTEXT 인덱스로 비교한다<br>
+     * 부분 일치 검색은 FULLTEXT 인덱스로 후보를 찾은 뒤 정렬 기준 인덱스를 쓰지 못하므로, 페이지마다 커서 이후의 모든 일치 결과를 정렬한다<br>
+     * 따라서 비용은 페이지 크기가 아닌 일치하는 회원 수에 비례하며, 흔한 검색어로 뒤쪽 페이지를 넘길수록 느려진다<br>
+     * 후보를 잘라내면 (정렬 기준 값, id) 순서가 페이지마다 달라져 커서가 결과를 건너뛸 수 있으므로, 후보 수는 제한하지 않는다
+     */
     public List<Member> searchMembers(Member requestMember, MemberSearchCondition condition) {
-        log.info("MemberRepository.searchMember() called");
-
-        String email = condition.getEmail();
-        String name = condition.getName();
-        Long id = requestMember.getId();
-
-        return query.select(member)
-                .from(member)
-                .where(likeEmail(email), likeName(name), differentId(id))
+        StringPath sortKey = condition.isSortedByEmail() ? member.email : member.name;
+
+        return query.selectFrom(member)
+                .where(matches(member.email, condition.getEmail()),
+                        matches(member.name, condition.getName()),
+                        differentId(requestMember.getId()),
+                        member.withdrawDate.isNull(),
+                        after(sortKey, condition.getCursor()))
+                .orderBy(sortKey.asc(), member.id.asc())
+                .limit(condition.getSize() + 1L)
                 .fetch();
     }
 
-    private BooleanExpression likeName(String name) {
-        log.info("MemberRepository.likeName() called");
-
-        if (!StringUtils.hasText(name)) {
+    private BooleanExpression matches(StringPath path, String keyword) {
+        if (!StringUtils.hasText(keyword)) {
             return null;
         }
 
-        return member.name.like("%" + name + "%");
-    }
+        // ngram 토큰보다 짧은 검색어는 FULLTEXT 인덱스로 찾을 수 없으므로, 접두사 일치로 비교함
+        if (infixIndexEnabled && keyword.length() >= NGRAM_TOKEN_SIZE) {
+            return Expressions.numberTemplate(Double.class, "function('fulltext_match', {0}, {1})", path, toPhrase(keyword))
+                    .gt(0.0);
+        }
 
-    private BooleanExpression likeEmail(String email) {
-        log.info("MemberRepository.likeEmail() called");
+        return path.startsWith(keyword);
+    }
 
-        if (!StringUtils.hasText(email)) {
+    private BooleanExpression after(StringPath sortKey, MemberCursor cursor) {
+        if (cursor == null) {
             return null;
         }
 
-        return member.email.like("%" + email + "%");
+        return sortKey.gt(cursor.getKey())
+                .or(sortKey.eq(cursor.getKey()).and(member.id.gt(cursor.getId())));
     }
 
     private BooleanExpression differentId(Long id) {
-        log.info("MemberRepository.differentId() called");
-
         if (id == null) {
             return null;
         }
 
         return member.id.eq(id).not();
     }
+
+    /**
+     * 검색어에 포함된 불리언 모드 연산자가 해석되지 않도록, 큰따옴표를 제거하고 구문으로 감싸는 메서드
+     */
+    private String toPhrase(String keyword) {
+        return "\"" + keyword.replace("\"", " ") + "\"";
+    }
 }
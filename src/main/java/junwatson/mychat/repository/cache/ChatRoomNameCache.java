@@ -0,0 +1,93 @@
+package junwatson.mychat.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import junwatson.mychat.domain.ChatRoom;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.MemberChatRoom;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름이 없는 채팅방에 표시할 "회원1, 회원2, ..." 형태의 이름을 (채팅방 ID, 조회 회원 ID) 단위로 보관하는 캐시<br>
+ * 채팅방 구성원이 바뀌거나 구성원의 이름이 바뀔 때 해당 채팅방의 값을 무효화하므로, 채팅방마다 현재 구성원 수를 넘는 값이 남지 않는다<br>
+ * 보관하는 채팅방 수는 최대 크기로 제한하고, 오래된 값은 만료 시간이 지나면 제거한다
+ */
+@Component
+public class ChatRoomNameCache {
+
+    public static final int MAX_SIZE = 10_000;
+    public static final Duration TTL = Duration.ofMinutes(30);
+
+    private final Cache<Long, Map<Long, String>> memberNames = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL)
+            .build();
+
+    /**
+     * 조회 회원을 제외한 채팅방 구성원들의 이름을 반환하는 메서드<br>
+     * 캐시에 값이 없을 때에만 채팅방의 회원 목록을 순회해 이름을 만든다
+     */
+    public String getMemberNames(MemberChatRoom memberChatRoom) {
+        Long chatRoomId = memberChatRoom.getChatRoom().getId();
+        Long viewerId = memberChatRoom.getMember().getId();
+
+        return memberNames.get(chatRoomId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(viewerId, id -> buildMemberNames(memberChatRoom));
+    }
+
+    /**
+     * 채팅방 구성원이 변경되었을 때 호출되어야 하는 메서드<br>
+     * 트랜잭션이 롤백되면 변경 전의 구성원으로 다시 계산해야 하므로, 트랜잭션 종료 시점에 한 번 더 무효화한다
+     */
+    public void evict(ChatRoom chatRoom) {
+        evict(chatRoom.getId());
+    }
+
+    public void evict(Long chatRoomId) {
+        if (chatRoomId == null) {
+            return;
+        }
+
+        memberNames.invalidate(chatRoomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    memberNames.invalidate(chatRoomId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 회원의 이름이 변경되었을 때 호출되어야 하는 메서드로, 해당 회원이 참여한 모든 채팅방의 값을 무효화한다
+     */
+    public void evictAll(Member member) {
+        for (MemberChatRoom memberChatRoom : member.getMemberChatRooms()) {
+            evict(memberChatRoom.getChatRoom());
+        }
+    }
+
+    private String buildMemberNames(MemberChatRoom memberChatRoom) {
+        List<Member> members = new ArrayList<>(memberChatRoom.getChatRoom()
+                .getMemberChatRooms().stream()
+                .map(MemberChatRoom::getMember)
+                .filter(member -> !member.equals(memberChatRoom.getMember()))
+                .toList());
+        if (members.isEmpty()) { // 만약 방에 다른 멤버가 아무도 없다면, 본인 이름을 사용
+            members.add(memberChatRoom.getMember());
+        }
+
+        return String.join(", ", members.stream()
+                .map(Member::getName)
+                .toList());
+    }
+}
@@ -0,0 +1,86 @@
+package junwatson.mychat.repository.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 양수 long 값을 박싱 없이 보관하는 개방 주소법 해시 집합<br>
+ * 0을 빈 칸으로 사용하므로 양수만 저장할 수 있으며, 동기화는 사용하는 측에서 처리해야 한다<br>
+ * SocialGraphIndex는 집합을 만든 뒤 변경하지 않고 통째로 무효화하므로 제거 연산은 두지 않는다
+ */
+class LongHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] table;
+    private int size;
+
+    LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+    }
+
+    static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        for (Long value : values) {
+            set.add(value);
+        }
+
+        return set;
+    }
+
+    boolean contains(long value) {
+        int mask = table.length - 1;
+        for (int index = indexOf(value, mask); table[index] != 0; index = (index + 1) & mask) {
+            if (table[index] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean add(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("양수만 저장할 수 있습니다: " + value);
+        }
+        if ((size + 1) * 2 > table.length) {
+            resize(table.length << 1);
+        }
+
+        int mask = table.length - 1;
+        int index = indexOf(value, mask);
+        while (table[index] != 0) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        size++;
+
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldTable = table;
+        table = new long[capacity];
+        size = 0;
+        Arrays.stream(oldTable)
+                .filter(value -> value != 0)
+                .forEach(this::add);
+    }
+
+    private static int indexOf(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
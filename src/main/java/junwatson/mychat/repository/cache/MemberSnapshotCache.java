@@ -0,0 +1,88 @@
+package junwatson.mychat.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import junwatson.mychat.repository.projection.MemberSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * 요청한 회원의 MemberSnapshot을 회원 ID 단위로 보관하는 캐시<br>
+ * 회원 정보 수정, 회원 탈퇴, 로그아웃 시에 무효화하며, 최대 크기에 도달하면 자주 쓰이지 않는 값부터 제거한다<br>
+ * 무효화를 놓친 값이 남더라도 만료 시간이 지나면 다시 조회하므로, 탈퇴한 회원이 계속 인증되지 않는다
+ */
+@Component
+public class MemberSnapshotCache {
+
+    public static final int MAX_SIZE = 10_000;
+    public static final Duration TTL = Duration.ofMinutes(1);
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, MemberSnapshot> snapshots = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL)
+            .build();
+    /**
+     * 회원 ID를 나눠 담는 무효화 횟수로, 값을 불러오는 동안 무효화되었다면 불러온 값을 캐시에 남기지 않는다
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * 캐시에 값이 없을 때에만 loader를 통해 조회하는 메서드로, 회원이 존재하지 않는다면 캐싱하지 않는다
+     */
+    public Optional<MemberSnapshot> get(Long memberId, Function<Long, Optional<MemberSnapshot>> loader) {
+        MemberSnapshot snapshot = snapshots.getIfPresent(memberId);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        int stripe = stripeOf(memberId);
+        long generation = generations.get(stripe);
+        Optional<MemberSnapshot> loaded = loader.apply(memberId);
+        loaded.ifPresent(value -> {
+            snapshots.put(memberId, value);
+
+            // 불러오는 동안 무효화되었다면 이전 상태일 수 있으므로 캐시에서 제거함
+            if (generations.get(stripe) != generation) {
+                snapshots.asMap().remove(memberId, value);
+            }
+        });
+
+        return loaded;
+    }
+
+    /**
+     * 회원 정보가 바뀌었을 때 호출되어야 하는 메서드<br>
+     * 트랜잭션이 끝나기 전에 다른 요청이 이전 값을 다시 캐싱할 수 있으므로, 트랜잭션 종료 시점에 한 번 더 무효화한다
+     */
+    public void evict(Long memberId) {
+        if (memberId == null) {
+            return;
+        }
+
+        invalidate(memberId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(memberId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long memberId) {
+        generations.incrementAndGet(stripeOf(memberId));
+        snapshots.invalidate(memberId);
+    }
+
+    private static int stripeOf(Long memberId) {
+        return Long.hashCode(memberId) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,208 @@
+package junwatson.mychat.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static junwatson.mychat.domain.QBlacklist.blacklist;
+import static junwatson.mychat.domain.QFriendship.friendship;
+import static junwatson.mychat.domain.QFriendshipRequest.friendshipRequest;
+
+/**
+ * 회원 간의 친구, 차단, 친구 요청 관계를 회원 ID의 인접 집합으로 보관하는 인덱스<br>
+ * 엔티티 컬렉션을 불러오지 않고 O(1)에 관계를 확인하며, 회원의 집합은 처음 조회될 때 ID만 조회해 만든다<br>
+ * 집합은 한 번 만들어지면 변경하지 않고, 관계가 바뀌면 변경 직후와 트랜잭션 종료 시점에 무효화해 다음 조회 때 DB에서 다시 만든다<br>
+ * 관계를 변경한 트랜잭션 안에서는 해당 회원의 집합을 캐시하지 않고 DB에서 조회하므로, 커밋되지 않은 관계가 다른 트랜잭션에 보이지 않는다<br>
+ * 무효화는 같은 서버 안에서만 일어나므로, 서버가 여러 대라면 다른 서버에서 바뀐 관계는 최대 TTL만큼 늦게 반영된다<br>
+ * 차단이나 친구 삭제가 권한 확인에 쓰이므로, 이 지연을 짧게 유지하도록 TTL을 30초로 둔다
+ */
+@Component
+public class SocialGraphIndex {
+
+    public static final int MAX_SIZE = 10_000;
+    public static final Duration TTL = Duration.ofSeconds(30);
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final JPAQueryFactory query;
+    private final Map<Relation, Cache<Long, LongHashSet>> adjacencies = new EnumMap<>(Relation.class);
+    /**
+     * 회원 ID를 나눠 담는 무효화 횟수로, 집합을 불러오는 동안 무효화되었다면 불러온 집합을 캐시에 남기지 않는다
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public SocialGraphIndex(EntityManager em) {
+        this.query = new JPAQueryFactory(em);
+        for (Relation relation : Relation.values()) {
+            adjacencies.put(relation, Caffeine.newBuilder()
+                    .maximumSize(MAX_SIZE)
+                    .expireAfterWrite(TTL)
+                    .build());
+        }
+    }
+
+    /**
+     * 친구 관계는 항상 양방향으로 함께 생성, 삭제되므로 한쪽 회원의 집합만 확인한다
+     */
+    public boolean areFriends(Long memberId, Long friendId) {
+        return contains(Relation.FRIEND, memberId, friendId);
+    }
+
+    /**
+     * 회원이 대상 회원을 차단했는지 여부를 반환하는 메서드
+     */
+    public boolean hasBlocked(Long memberId, Long targetId) {
+        return contains(Relation.BLOCK, memberId, targetId);
+    }
+
+    /**
+     * 회원이 대상 회원에게 친구 요청을 보냈는지 여부를 반환하는 메서드
+     */
+    public boolean hasSentFriendshipRequest(Long fromMemberId, Long toMemberId) {
+        return contains(Relation.FRIENDSHIP_REQUEST, fromMemberId, toMemberId);
+    }
+
+    /**
+     * 회원의 친구 집합을 무효화하는 메서드로, 친구 관계는 양방향이므로 두 회원 모두에 대해 호출해야 한다
+     */
+    public void invalidateFriends(Long memberId) {
+        markChanged(Relation.FRIEND, memberId);
+    }
+
+    /**
+     * 회원이 차단한 회원 집합을 무효화하는 메서드
+     */
+    public void invalidateBlocks(Long memberId) {
+        markChanged(Relation.BLOCK, memberId);
+    }
+
+    /**
+     * 회원이 보낸 친구 요청 집합을 무효화하는 메서드
+     */
+    public void invalidateFriendshipRequests(Long fromMemberId) {
+        markChanged(Relation.FRIENDSHIP_REQUEST, fromMemberId);
+    }
+
+    /**
+     * 탈퇴한 회원의 모든 집합을 무효화하는 메서드<br>
+     * 다른 회원의 집합에 남은 탈퇴 회원의 ID는 다시 사용되지 않으므로 그대로 둔다
+     */
+    public void evict(Long memberId) {
+        for (Relation relation : Relation.values()) {
+            invalidate(relation, memberId);
+        }
+    }
+
+    private boolean contains(Relation relation, Long memberId, Long targetId) {
+        // 현재 트랜잭션에서 변경한 회원이라면, 커밋되지 않은 관계를 캐시에 올리지 않도록 매번 조회함
+        if (isChangedInTransaction(relation, memberId)) {
+            return load(relation, memberId).contains(targetId);
+        }
+
+        return getOrLoad(relation, memberId).contains(targetId);
+    }
+
+    private LongHashSet getOrLoad(Relation relation, Long memberId) {
+        Cache<Long, LongHashSet> sets = adjacencies.get(relation);
+        LongHashSet set = sets.getIfPresent(memberId);
+        if (set != null) {
+            return set;
+        }
+
+        // 쿼리를 실행하는 동안 다른 회원의 조회를 막지 않도록, 캐시의 잠금 밖에서 불러온 뒤 저장함
+        int stripe = stripeOf(memberId);
+        long generation = generations.get(stripe);
+        LongHashSet loaded = LongHashSet.of(load(relation, memberId));
+        LongHashSet previous = sets.asMap().putIfAbsent(memberId, loaded);
+        if (previous != null) {
+            return previous;
+        }
+
+        // 불러오는 동안 무효화되었다면 이전 상태일 수 있으므로 캐시에서 제거함
+        // 무효화는 횟수를 먼저 올린 뒤 제거하므로, 여기서 변경을 보지 못했다면 무효화가 이 집합을 제거한다
+        if (generations.get(stripe) != generation) {
+            sets.asMap().remove(memberId, loaded);
+        }
+
+        return loaded;
+    }
+
+    private List<Long> load(Relation relation, Long memberId) {
+        return switch (relation) {
+            case FRIEND -> query.select(friendship.friendMember.id)
+                    .from(friendship)
+                    .where(friendship.member.id.eq(memberId))
+                    .fetch();
+            case BLOCK -> query.select(blacklist.targetMember.id)
+                    .from(blacklist)
+                    .where(blacklist.member.id.eq(memberId))
+                    .fetch();
+            case FRIENDSHIP_REQUEST -> query.select(friendshipRequest.responseMember.id)
+                    .from(friendshipRequest)
+                    .where(friendshipRequest.requestMember.id.eq(memberId))
+                    .fetch();
+        };
+    }
+
+    private void invalidate(Relation relation, Long memberId) {
+        generations.incrementAndGet(stripeOf(memberId));
+        adjacencies.get(relation).invalidate(memberId);
+    }
+
+    /**
+     * 관계가 바뀐 회원의 집합을 무효화하고, 트랜잭션이 끝날 때까지 해당 회원의 집합을 캐시하지 않도록 기록하는 메서드<br>
+     * 트랜잭션이 끝나면 커밋 여부와 관계없이 한 번 더 무효화해, 그 사이에 다른 트랜잭션이 불러온 이전 상태를 제거한다
+     */
+    private void markChanged(Relation relation, Long memberId) {
+        invalidate(relation, memberId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Map<Relation, Set<Long>> changed = getChangedInTransaction();
+        if (changed == null) {
+            Map<Relation, Set<Long>> newChanged = new EnumMap<>(Relation.class);
+            TransactionSynchronizationManager.bindResource(this, newChanged);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SocialGraphIndex.this);
+                    newChanged.forEach((changedRelation, memberIds) ->
+                            memberIds.forEach(changedMemberId -> invalidate(changedRelation, changedMemberId)));
+                }
+            });
+            changed = newChanged;
+        }
+        changed.computeIfAbsent(relation, key -> new HashSet<>()).add(memberId);
+    }
+
+    private boolean isChangedInTransaction(Relation relation, Long memberId) {
+        Map<Relation, Set<Long>> changed = getChangedInTransaction();
+
+        return changed != null && changed.getOrDefault(relation, Set.of()).contains(memberId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Relation, Set<Long>> getChangedInTransaction() {
+        return (Map<Relation, Set<Long>>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private static int stripeOf(Long memberId) {
+        return Long.hashCode(memberId) & (GENERATION_STRIPES - 1);
+    }
+
+    private enum Relation {
+        FRIEND, BLOCK, FRIENDSHIP_REQUEST
+    }
+}
@@ -0,0 +1,62 @@
+package junwatson.mychat.repository.condition;
+
+import junwatson.mychat.domain.Chat;
+import junwatson.mychat.exception.IllegalSearchConditionException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * 채팅 기록을 페이지 단위로 조회하기 위한 커서<br>
+ * (inputDate, id) 쌍을 기준으로, 해당 채팅보다 이전에 작성된 채팅을 조회할 때 사용한다
+ */
+@Getter
+@AllArgsConstructor(access = PRIVATE)
+public class ChatCursor {
+
+    private static final String DELIMITER = "_";
+
+    private LocalDateTime inputDate;
+    private Long id;
+
+    public static ChatCursor from(Chat chat) {
+        return new ChatCursor(chat.getInputDate(), chat.getId());
+    }
+
+    /**
+     * 클라이언트가 전달한 커서 문자열을 해석하는 메서드<br>
+     * 커서 문자열이 비어 있다면 가장 최근 채팅부터 조회하도록 null을 반환한다
+     */
+    public static ChatCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = decoded.split(DELIMITER);
+
+            return new ChatCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalSearchConditionException("부적절한 커서입니다.");
+        }
+    }
+
+    /**
+     * 클라이언트에게 전달할 불투명한 커서 문자열을 생성하는 메서드
+     */
+    public String encode() {
+        String raw = inputDate.toString() + DELIMITER + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
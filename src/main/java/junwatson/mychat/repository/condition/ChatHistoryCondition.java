@@ -0,0 +1,26 @@
+package junwatson.mychat.repository.condition;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+public class ChatHistoryCondition {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 100;
+
+    private ChatCursor cursor;
+    private int size;
+
+    public static ChatHistoryCondition latest() {
+        return ChatHistoryCondition.builder()
+                .cursor(null)
+                .size(DEFAULT_SIZE)
+                .build();
+    }
+}
@@ -11,11 +11,26 @@ import static lombok.AccessLevel.PRIVATE;
 @AllArgsConstructor(access = PRIVATE)
 public class MemberChatRoomSearchCondition {
 
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    /**
+     * 오프셋(page * size)이 int 범위를 넘지 않는 가장 큰 페이지
+     */
+    public static final int MAX_PAGE = Integer.MAX_VALUE / MAX_SIZE;
+
     private String name;
+    private int page;
+    private int size;
 
     public static MemberChatRoomSearchCondition noCondition() {
         return MemberChatRoomSearchCondition.builder()
                 .name(null)
+                .page(0)
+                .size(DEFAULT_SIZE)
                 .build();
     }
+
+    public int getOffset() {
+        return page * size;
+    }
 }
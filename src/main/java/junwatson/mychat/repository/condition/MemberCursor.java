@@ -0,0 +1,60 @@
+package junwatson.mychat.repository.condition;
+
+import junwatson.mychat.exception.IllegalSearchConditionException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * 회원 검색 결과를 페이지 단위로 조회하기 위한 커서<br>
+ * (정렬 기준 값, id) 쌍을 기준으로, 해당 회원보다 뒤에 정렬되는 회원을 조회할 때 사용한다
+ */
+@Getter
+@AllArgsConstructor(access = PRIVATE)
+public class MemberCursor {
+
+    private static final String DELIMITER = "_";
+
+    private String key;
+    private Long id;
+
+    public static MemberCursor of(String key, Long id) {
+        return new MemberCursor(key, id);
+    }
+
+    /**
+     * 클라이언트가 전달한 커서 문자열을 해석하는 메서드<br>
+     * 커서 문자열이 비어 있다면 처음부터 조회하도록 null을 반환한다
+     */
+    public static MemberCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+
+        try {
+            // 정렬 기준 값(이메일, 이름)에 구분자가 포함될 수 있으므로, id를 앞에 두고 첫 구분자에서만 나눔
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = decoded.split(DELIMITER, 2);
+
+            return new MemberCursor(values[1], Long.parseLong(values[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalSearchConditionException("부적절한 커서입니다.");
+        }
+    }
+
+    /**
+     * 클라이언트에게 전달할 불투명한 커서 문자열을 생성하는 메서드
+     */
+    public String encode() {
+        String raw = id + DELIMITER + key;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,8 +1,10 @@
 package junwatson.mychat.repository.condition;
 
+import junwatson.mychat.domain.Member;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.util.StringUtils;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -11,10 +13,29 @@ import static lombok.AccessLevel.PRIVATE;
 @Getter
 public class MemberSearchCondition {
 
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 50;
+
     private String name;
     private String email;
+    private MemberCursor cursor;
+    private int size;
 
     public static MemberSearchCondition noCondition() {
         return MemberSearchCondition.builder().build();
     }
+
+    /**
+     * 이메일 조건이 있다면 유니크 인덱스가 있는 이메일을, 그렇지 않다면 이름을 정렬 기준으로 사용한다
+     */
+    public boolean isSortedByEmail() {
+        return StringUtils.hasText(email);
+    }
+
+    /**
+     * 해당 회원의 정렬 기준 값을 반환하는 메서드로, 다음 페이지의 커서를 만들 때 사용한다
+     */
+    public String sortKeyOf(Member member) {
+        return isSortedByEmail() ? member.getEmail() : member.getName();
+    }
 }
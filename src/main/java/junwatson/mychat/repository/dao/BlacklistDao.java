@@ -1,32 +1,58 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.Blacklist;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.exception.MemberNotExistsException;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.cache.SocialGraphIndex;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import static junwatson.mychat.domain.QBlacklist.blacklist;
+
 @Repository
-@Slf4j
 public class BlacklistDao {
 
-    public boolean isBlocked(Member member, Member target) {
-        log.info("BlacklistDao.isBlocked() called");
+    private final JPAQueryFactory query;
+    private final SocialGraphIndex socialGraphIndex;
+
+    public BlacklistDao(EntityManager em, SocialGraphIndex socialGraphIndex) {
+        this.query = new JPAQueryFactory(em);
+        this.socialGraphIndex = socialGraphIndex;
+    }
 
-        return target.getBlacklists().stream()
-                .anyMatch(blacklist -> blacklist.getTargetMember().equals(member));
+    /**
+     * member가 target에게 차단당했는지 여부를, 차단 컬렉션을 불러오지 않고 O(1)에 확인하는 메서드
+     */
+    public boolean isBlocked(Member member, Member target) {
+        return socialGraphIndex.hasBlocked(target.getId(), member.getId());
     }
 
+    /**
+     * member가 target을 차단했는지 여부를, 차단 컬렉션을 불러오지 않고 O(1)에 확인하는 메서드
+     */
     public boolean isBlacklistExists(Member member, Member target) {
-        log.info("BlacklistDao.isBlacklistExists() called");
+        return socialGraphIndex.hasBlocked(member.getId(), target.getId());
+    }
+
+    /**
+     * 회원과 대상 회원들 사이의 차단 정보를, 차단한 방향과 차단당한 방향 모두 한 번의 쿼리로 조회하는 메서드
+     */
+    public List<Blacklist> findBlacklistsBetween(Member member, Collection<Member> targets) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
 
-        return member.getBlacklists().stream()
-                .anyMatch(blacklist -> blacklist.getTargetMember().equals(target));
+        return query.selectFrom(blacklist)
+                .where(blacklist.member.eq(member).and(blacklist.targetMember.in(targets))
+                        .or(blacklist.member.in(targets).and(blacklist.targetMember.eq(member))))
+                .fetch();
     }
 
     public Blacklist createBlacklist(Member member, Member target) {
-        log.info("BlacklistDao.createBlacklist() called");
-
         Blacklist blacklist = Blacklist.builder()
                 .member(member)
                 .targetMember(target)
@@ -34,18 +60,39 @@ public class BlacklistDao {
         member.getBlacklists().add(blacklist);
         target.getBlockedLists().add(blacklist);
 
+        socialGraphIndex.invalidateBlocks(member.getId());
+
         return blacklist;
     }
 
     public Blacklist removeBlacklist(Member member, Member target) {
-        log.info("BlacklistDao.removeBlacklist() called");
-
         Blacklist findBlacklist = member.getBlacklists().stream()
                 .filter(blacklist -> blacklist.getTargetMember().equals(target))
                 .findAny()
                 .orElseThrow(() -> new MemberNotExistsException("해당 회원이 차단 목록에 존재하지 않습니다."));
         member.getBlacklists().remove(findBlacklist);
 
+        socialGraphIndex.invalidateBlocks(member.getId());
+
         return findBlacklist;
     }
+
+    /**
+     * 회원이 차단했거나 회원을 차단한 정보를, 차단 컬렉션을 불러오지 않고 최대 limit개씩 삭제하는 메서드<br>
+     * 삭제된 행의 수를 반환하므로, 0이 반환될 때까지 반복해 호출하면 모든 차단 정보가 삭제된다
+     */
+    public long removeBlacklists(Long memberId, int limit) {
+        List<Long> ids = query.select(blacklist.id)
+                .from(blacklist)
+                .where(blacklist.member.id.eq(memberId).or(blacklist.targetMember.id.eq(memberId)))
+                .limit(limit)
+                .fetch();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return query.delete(blacklist)
+                .where(blacklist.id.in(ids))
+                .execute();
+    }
 }
@@ -1,34 +1,74 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.Chat;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.ReadWatermark;
+import junwatson.mychat.domain.type.ChatEventType;
 import junwatson.mychat.domain.type.ChatType;
+import junwatson.mychat.event.ChatEvent;
+import junwatson.mychat.repository.condition.ChatCursor;
+import junwatson.mychat.repository.condition.ChatHistoryCondition;
 import junwatson.mychat.repository.condition.ChatSearchCondition;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.search.ChatSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static junwatson.mychat.domain.QChat.chat;
 
 @Repository
-@Slf4j
 public class ChatDao {
 
-    public Optional<Chat> findChatById(Member member, Long id) {
-        log.info("ChatDao.findChatById() called");
+    private final EntityManager em;
+    private final JPAQueryFactory query;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatSearchIndex chatSearchIndex;
 
+    public ChatDao(EntityManager em, ApplicationEventPublisher eventPublisher, ChatSearchIndex chatSearchIndex) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+        this.eventPublisher = eventPublisher;
+        this.chatSearchIndex = chatSearchIndex;
+    }
+
+    public Optional<Chat> findChatById(Member member, Long id) {
         return member.getChats().stream()
                 .filter(chat -> chat.getId().equals(id))
                 .findAny();
     }
 
-    public void remove(Chat chat) {
-        log.info("ChatDao.remove() called");
+    /**
+     * 회원과 채팅방의 채팅 컬렉션을 불러오지 않고 채팅을 저장하는 메서드<br>
+     * 이미 불러온 컬렉션에만 채팅을 추가해, 영속성 컨텍스트의 상태를 일관되게 유지한다
+     */
+    public Chat save(Chat chat) {
+        em.persist(chat);
 
+        List<Chat> memberChats = chat.getMember().getChats();
+        if (Hibernate.isInitialized(memberChats)) {
+            memberChats.add(chat);
+        }
+        List<Chat> chatRoomChats = chat.getChatRoom().getChats();
+        if (Hibernate.isInitialized(chatRoomChats)) {
+            chatRoomChats.add(chat);
+        }
+
+        return chat;
+    }
+
+    public void remove(Chat chat) {
         Member member = chat.getMember();
         ChatRoom chatRoom = chat.getChatRoom();
 
@@ -36,25 +76,42 @@ public class ChatDao {
         chatRoom.getChats().remove(chat);
     }
 
+    /**
+     * 조건에 맞는 채팅을 조회하는 메서드<br>
+     * 검색어가 있다면 검색 인덱스를 통해 관련도 순으로, 없다면 채팅방의 채팅을 최신순으로 한 페이지만 조회한다<br>
+     * 정렬은 (chat_room_id, input_date, id) 인덱스를 사용하는 쿼리에서 보장하므로, 호출하는 쪽에서 다시 정렬할 필요가 없다
+     */
     public List<Chat> searchByCondition(ChatRoom chatRoom, ChatSearchCondition condition) {
-        log.info("ChatDao.searchByCondition() called");
-
         String content = condition.getContent();
-        Stream<Chat> stream = chatRoom.getChats().stream();
         if (StringUtils.hasText(content)) {
-            stream = stream.filter(chat -> chat.getContent().contains(content));
+            List<Long> ids = chatSearchIndex.search(chatRoom.getId(), content, condition.getOffset(), condition.getSize());
+            return findAllByIdInOrder(ids);
         }
 
-        return stream.sorted()
-                .toList();
+        return query.selectFrom(chat)
+                .where(chat.chatRoom.eq(chatRoom))
+                .orderBy(chat.inputDate.desc(), chat.id.desc())
+                .offset(condition.getOffset())
+                .limit(condition.getSize())
+                .fetch();
+    }
+
+    /**
+     * 커서 이전에 작성된 채팅을 최신순으로 조회하는 메서드<br>
+     * (chat_room_id, input_date, id) 인덱스를 타도록 키셋 방식으로 조회하며, 다음 페이지 존재 여부를 판단할 수 있도록 size보다 1개 더 조회한다
+     */
+    public List<Chat> findChatsBefore(ChatRoom chatRoom, ChatHistoryCondition condition) {
+        return query.selectFrom(chat)
+                .where(chat.chatRoom.eq(chatRoom), before(condition.getCursor()))
+                .orderBy(chat.inputDate.desc(), chat.id.desc())
+                .limit(condition.getSize() + 1L)
+                .fetch();
     }
 
     /**
      * 해당 문자열을 담은 시스템 채팅을 생성하는 메서드
      */
     public void createSystemChat(ChatRoom chatRoom, String message) {
-        log.info("ChatDao.createSystemChat() called");
-
         Chat systemChat = Chat.builder()
                 .chatRoom(chatRoom)
                 .content(message)
@@ -63,17 +120,88 @@ public class ChatDao {
                 .build();
 
         chatRoom.getChats().add(systemChat);
+
+        // 커밋 이후 채팅방 구독자들에게 시스템 채팅을 전달
+        int unconfirmedCounter = ReadWatermark.from(chatRoom.getMemberChatRooms()).countUnconfirmed(systemChat.getInputDate());
+        eventPublisher.publishEvent(ChatEvent.of(ChatEventType.CREATED, systemChat, unconfirmedCounter));
     }
 
     /**
-     * 해당 멤버의 모든 채팅을 (알수없음)으로 변경하는 메서드
+     * 여러 채팅방에 같은 내용의 시스템 채팅을 생성하는 메서드<br>
+     * 채팅방 엔티티와 회원 컬렉션을 불러오지 않으며, 방금 작성된 채팅은 남은 회원 모두가 읽지 않은 상태이므로 남은 회원 수를 읽지 않은 회원 수로 사용한다
      */
-    public void removeAllChats(Member member) {
-        log.info("ChatDao.removeAllChats() called");
+    public void createSystemChats(Map<Long, Long> memberCounts, String message) {
+        LocalDateTime inputDate = LocalDateTime.now();
+        memberCounts.forEach((chatRoomId, memberCount) -> {
+            Chat systemChat = Chat.builder()
+                    .chatRoom(em.getReference(ChatRoom.class, chatRoomId))
+                    .content(message)
+                    .inputDate(inputDate)
+                    .chatType(ChatType.SYSTEM)
+                    .build();
+            em.persist(systemChat);
+
+            // 커밋 이후 채팅방 구독자들에게 시스템 채팅을 전달
+            eventPublisher.publishEvent(ChatEvent.of(ChatEventType.CREATED, systemChat, memberCount.intValue()));
+        });
+    }
+
+    /**
+     * 해당 멤버의 채팅을 ID 순으로 최대 limit개씩 (알수없음)으로 변경하는 메서드<br>
+     * (member_id, id) 인덱스에서 limit번째 채팅의 ID를 찾아 범위의 끝으로 삼고, 그 범위를 한 번의 UPDATE로 변경한다<br>
+     * 변경된 채팅은 더 이상 회원의 채팅이 아니므로, 0이 반환될 때까지 반복해 호출하면 모든 채팅이 변경된다<br>
+     * 대량 UPDATE는 영속성 컨텍스트를 거치지 않으므로, 변경 전에 플러시하고 변경 후에는 영속성 컨텍스트를 비운다<br>
+     * 따라서 호출 이전에 불러온 엔티티는 준영속 상태가 되며, 묶음마다 새 트랜잭션에서 호출하는 것을 전제로 한다
+     */
+    public long anonymizeChats(Long memberId, int limit) {
+        Long upperId = query.select(chat.id)
+                .from(chat)
+                .where(chat.member.id.eq(memberId))
+                .orderBy(chat.id.asc())
+                .offset(limit - 1L)
+                .fetchFirst();
+
+        // 불러온 엔티티의 변경 사항은 영속성 컨텍스트를 비우기 전에 먼저 반영함
+        em.flush();
+
+        // limit개보다 적게 남았다면 남은 채팅을 모두 변경
+        long updated = query.update(chat)
+                .setNull(chat.member)
+                .where(chat.member.id.eq(memberId), upperId == null ? null : chat.id.loe(upperId))
+                .execute();
+
+        // 이미 불러온 채팅과 회원의 채팅 컬렉션이 변경 전 상태로 남지 않도록 함
+        em.clear();
+
+        return updated;
+    }
 
-        List<Chat> chats = member.getChats();
-        for (Chat chat : chats) {
-            chat.setMember(null);
+    /**
+     * ID 목록에 해당하는 채팅을 한 번에 조회해, 전달된 ID의 순서대로 반환하는 메서드
+     */
+    private List<Chat> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+
+        Map<Long, Chat> chats = query.selectFrom(chat)
+                .where(chat.id.in(ids))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Chat::getId, Function.identity()));
+
+        return ids.stream()
+                .map(chats::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private BooleanExpression before(ChatCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        return chat.inputDate.lt(cursor.getInputDate())
+                .or(chat.inputDate.eq(cursor.getInputDate()).and(chat.id.lt(cursor.getId())));
     }
 }
@@ -1,24 +1,32 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.Friendship;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.exception.MemberNotExistsException;
+import junwatson.mychat.repository.cache.SocialGraphIndex;
 import junwatson.mychat.repository.condition.MemberSearchCondition;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static junwatson.mychat.domain.QFriendship.friendship;
+
 @Repository
-@Slf4j
 public class FriendshipDao {
 
-    public void createFriendship(Member member, Member friend) {
-        log.info("FriendshipDao.createFriendship() called");
+    private final JPAQueryFactory query;
+    private final SocialGraphIndex socialGraphIndex;
+
+    public FriendshipDao(EntityManager em, SocialGraphIndex socialGraphIndex) {
+        this.query = new JPAQueryFactory(em);
+        this.socialGraphIndex = socialGraphIndex;
+    }
 
+    public void createFriendship(Member member, Member friend) {
         List<Friendship> friendships1 = member.getFriendships();
         List<Friendship> friendships2 = friend.getFriendships();
 
@@ -33,11 +41,12 @@ public class FriendshipDao {
 
         friendships1.add(friendship1);
         friendships2.add(friendship2);
+
+        socialGraphIndex.invalidateFriends(member.getId());
+        socialGraphIndex.invalidateFriends(friend.getId());
     }
 
     public void removeFriendship(Member member, Member friend) {
-        log.info("FriendshipDao.removeFriendship() called");
-
         Friendship memberFriendship = member.getFriendships()
                 .stream()
                 .filter(friendship -> friendship.getFriendMember().equals(friend))
@@ -52,11 +61,12 @@ public class FriendshipDao {
 
         member.getFriendships().remove(memberFriendship);
         friend.getFriendships().remove(friendFriendship);
+
+        socialGraphIndex.invalidateFriends(member.getId());
+        socialGraphIndex.invalidateFriends(friend.getId());
     }
 
     public List<Friendship> searchFriendships(Member member, MemberSearchCondition condition) {
-        log.info("FriendshipDao.searchFriendships() called");
-
         Stream<Friendship> stream = member.getFriendships().stream();
 
         String email = condition.getEmail();
@@ -72,25 +82,29 @@ public class FriendshipDao {
         return stream.toList();
     }
 
+    /**
+     * 친구 컬렉션을 불러오지 않고, SocialGraphIndex를 통해 O(1)에 친구 여부를 확인하는 메서드
+     */
     public boolean areFriends(Member member, Member friend) {
-        boolean memberToFriend = member.getFriendships()
-                .stream()
-                .anyMatch(friendship -> friendship.getFriendMember().equals(friend));
-
-        boolean friendToMember = friend.getFriendships()
-                .stream()
-                .anyMatch(friendship -> friendship.getFriendMember().equals(member));
-
-        return memberToFriend && friendToMember;
+        return socialGraphIndex.areFriends(member.getId(), friend.getId());
     }
 
-    public void removeAllFriendships(Member member) {
-        log.info("FriendshipDao.removeAllFriendships() called");
-
-        List<Friendship> removeFriendships = new ArrayList<>(member.getFriendships());
-        for (Friendship friendship : removeFriendships) {
-            removeFriendship(member, friendship.getFriendMember());
+    /**
+     * 회원의 친구 관계를 양방향 모두, 친구 컬렉션을 불러오지 않고 최대 limit개씩 삭제하는 메서드<br>
+     * 삭제된 행의 수를 반환하므로, 0이 반환될 때까지 반복해 호출하면 모든 친구 관계가 삭제된다
+     */
+    public long removeFriendships(Long memberId, int limit) {
+        List<Long> ids = query.select(friendship.id)
+                .from(friendship)
+                .where(friendship.member.id.eq(memberId).or(friendship.friendMember.id.eq(memberId)))
+                .limit(limit)
+                .fetch();
+        if (ids.isEmpty()) {
+            return 0;
         }
-    }
 
+        return query.delete(friendship)
+                .where(friendship.id.in(ids))
+                .execute();
+    }
 }
@@ -1,33 +1,42 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.FriendshipRequest;
 import junwatson.mychat.domain.Member;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.cache.SocialGraphIndex;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+import static junwatson.mychat.domain.QFriendshipRequest.friendshipRequest;
+
 @Repository
-@Slf4j
 public class FriendshipRequestDao {
 
-    public boolean isReceivedFriendshipRequestExists(Member fromMember, Member toMember) {
-        log.info("FriendshipRequestDao.isReceivedFriendshipRequestExists() called");
+    private final JPAQueryFactory query;
+    private final SocialGraphIndex socialGraphIndex;
 
-        return fromMember.getReceivedFriendshipRequests()
-                .stream()
-                .anyMatch((request) -> request.getRequestMember().equals(toMember));
+    public FriendshipRequestDao(EntityManager em, SocialGraphIndex socialGraphIndex) {
+        this.query = new JPAQueryFactory(em);
+        this.socialGraphIndex = socialGraphIndex;
     }
 
-    public boolean isSentFriendshipRequestExists(Member fromMember, Member toMember) {
-        log.info("FriendshipRequestDao.isSentFriendshipRequestExists() called");
+    /**
+     * fromMember가 toMember로부터 친구 요청을 받았는지 여부를, 요청 컬렉션을 불러오지 않고 O(1)에 확인하는 메서드
+     */
+    public boolean isReceivedFriendshipRequestExists(Member fromMember, Member toMember) {
+        return socialGraphIndex.hasSentFriendshipRequest(toMember.getId(), fromMember.getId());
+    }
 
-        return fromMember.getSentFriendshipRequests()
-                .stream()
-                .anyMatch((request) -> request.getResponseMember().equals(toMember));
+    /**
+     * fromMember가 toMember에게 친구 요청을 보냈는지 여부를, 요청 컬렉션을 불러오지 않고 O(1)에 확인하는 메서드
+     */
+    public boolean isSentFriendshipRequestExists(Member fromMember, Member toMember) {
+        return socialGraphIndex.hasSentFriendshipRequest(fromMember.getId(), toMember.getId());
     }
 
     public void createFriendshipRequest(Member fromMember, Member toMember) {
-        log.info("FriendshipRequestDao.createFriendshipRequest() called");
-
         FriendshipRequest friendshipRequest = FriendshipRequest.builder()
                 .requestMember(fromMember)
                 .responseMember(toMember)
@@ -35,11 +44,11 @@ public class FriendshipRequestDao {
 
         fromMember.getSentFriendshipRequests().add(friendshipRequest);
         toMember.getReceivedFriendshipRequests().add(friendshipRequest);
+
+        socialGraphIndex.invalidateFriendshipRequests(fromMember.getId());
     }
 
     public void removeFriendshipRequest(Member fromMember, Member toMember) {
-        log.info("FriendshipRequestDao.removeRequest() called");
-
         fromMember.getSentFriendshipRequests().stream()
                 .filter(friendshipRequest -> friendshipRequest.getResponseMember().equals(toMember))
                 .findAny()
@@ -55,5 +64,26 @@ public class FriendshipRequestDao {
                     toMember.getReceivedFriendshipRequests()
                             .remove(friendshipRequest);
                 });
+
+        socialGraphIndex.invalidateFriendshipRequests(fromMember.getId());
+    }
+
+    /**
+     * 회원이 보내거나 받은 친구 요청을, 요청 컬렉션을 불러오지 않고 최대 limit개씩 삭제하는 메서드<br>
+     * 삭제된 행의 수를 반환하므로, 0이 반환될 때까지 반복해 호출하면 모든 친구 요청이 삭제된다
+     */
+    public long removeFriendshipRequests(Long memberId, int limit) {
+        List<Long> ids = query.select(friendshipRequest.id)
+                .from(friendshipRequest)
+                .where(friendshipRequest.requestMember.id.eq(memberId).or(friendshipRequest.responseMember.id.eq(memberId)))
+                .limit(limit)
+                .fetch();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return query.delete(friendshipRequest)
+                .where(friendshipRequest.id.in(ids))
+                .execute();
     }
 }
@@ -1,23 +1,42 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.MemberChatRoom;
-import junwatson.mychat.repository.condition.MemberChatRoomSearchCondition;
-import lombok.extern.slf4j.Slf4j;
+import junwatson.mychat.repository.cache.ChatRoomNameCache;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static junwatson.mychat.domain.QMemberChatRoom.memberChatRoom;
+
 @Repository
-@Slf4j
 public class MemberChatRoomDao {
 
-    public MemberChatRoom createMemberChatRoom(Member member, ChatRoom chatRoom) {
-        log.info("MemberChatRoomDao.createMemberChatRoom() called");
+    private static final String INSERT_MEMBER_CHAT_ROOM_SQL =
+            "insert into member_chat_room (member_id, chat_room_id, view_date) values (?, ?, ?)";
 
+    private final EntityManager em;
+    private final JPAQueryFactory query;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatRoomNameCache chatRoomNameCache;
+
+    public MemberChatRoomDao(EntityManager em, JdbcTemplate jdbcTemplate, ChatRoomNameCache chatRoomNameCache) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatRoomNameCache = chatRoomNameCache;
+    }
+
+    public MemberChatRoom createMemberChatRoom(Member member, ChatRoom chatRoom) {
         MemberChatRoom memberChatRoom = MemberChatRoom.builder()
                 .member(member)
                 .chatRoom(chatRoom)
@@ -26,20 +45,80 @@ public class MemberChatRoomDao {
         member.getMemberChatRooms().add(memberChatRoom);
         chatRoom.getMemberChatRooms().add(memberChatRoom);
 
+        // 채팅방 구성원이 바뀌었으므로 기본 채팅방 이름을 다시 계산하도록 함
+        chatRoomNameCache.evict(chatRoom);
+
         return memberChatRoom;
     }
 
-    public Optional<MemberChatRoom> findByMemberAndChatRoom(Member member, ChatRoom chatRoom) {
-        log.info("MemberChatRoomDao.findByMemberAndChatRoom() called");
+    /**
+     * 여러 회원을 채팅방에 한 번에 참여시키는 메서드<br>
+     * MemberChatRoom은 IDENTITY 전략을 사용해 Hibernate가 INSERT를 묶어 보낼 수 없으므로, JDBC 배치로 저장한 뒤 한 번의 쿼리로 영속성 컨텍스트에 올린다<br>
+     * 이미 불러온 컬렉션에만 결과를 추가해, 영속성 컨텍스트의 상태를 일관되게 유지한다
+     */
+    public List<MemberChatRoom> createMemberChatRooms(List<Member> members, ChatRoom chatRoom) {
+        if (members.isEmpty()) {
+            return List.of();
+        }
+
+        // 채팅방과 이전 변경 사항이 먼저 저장되어 있어야 함
+        em.flush();
+
+        Timestamp viewDate = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MEMBER_CHAT_ROOM_SQL, members, members.size(), (ps, member) -> {
+            ps.setLong(1, member.getId());
+            ps.setLong(2, chatRoom.getId());
+            ps.setTimestamp(3, viewDate);
+        });
+
+        List<MemberChatRoom> memberChatRooms = query.selectFrom(memberChatRoom)
+                .where(memberChatRoom.chatRoom.eq(chatRoom), memberChatRoom.member.in(members))
+                .fetch();
+        for (MemberChatRoom createdMemberChatRoom : memberChatRooms) {
+            List<MemberChatRoom> memberMemberChatRooms = createdMemberChatRoom.getMember().getMemberChatRooms();
+            if (Hibernate.isInitialized(memberMemberChatRooms)) {
+                memberMemberChatRooms.add(createdMemberChatRoom);
+            }
+            List<MemberChatRoom> chatRoomMemberChatRooms = chatRoom.getMemberChatRooms();
+            if (Hibernate.isInitialized(chatRoomMemberChatRooms)) {
+                chatRoomMemberChatRooms.add(createdMemberChatRoom);
+            }
+        }
 
+        // 채팅방 구성원이 바뀌었으므로 기본 채팅방 이름을 다시 계산하도록 함
+        chatRoomNameCache.evict(chatRoom);
+
+        return memberChatRooms;
+    }
+
+    public Optional<MemberChatRoom> findByMemberAndChatRoom(Member member, ChatRoom chatRoom) {
         return member.getMemberChatRooms().stream()
                 .filter(memberChatRoom -> memberChatRoom.getChatRoom().equals(chatRoom))
                 .findAny();
     }
 
-    public void removeMemberChatRoom(MemberChatRoom memberChatRoom) {
-        log.info("MemberChatRoomDao.removeMemberChatRoom() called");
+    /**
+     * 회원과 채팅방의 ID로 MemberChatRoom을 조회하는 메서드<br>
+     * 회원의 채팅방 컬렉션을 불러오지 않고, (member_id, chat_room_id) 유니크 인덱스를 통해 한 번에 조회한다
+     */
+    public Optional<MemberChatRoom> findByMemberIdAndChatRoomId(Long memberId, Long chatRoomId) {
+        return Optional.ofNullable(query.selectFrom(memberChatRoom)
+                .join(memberChatRoom.chatRoom).fetchJoin()
+                .where(memberChatRoom.member.id.eq(memberId), memberChatRoom.chatRoom.id.eq(chatRoomId))
+                .fetchOne());
+    }
 
+    /**
+     * 회원이 해당 채팅방에 소속되어 있는지 여부를 (member_id, chat_room_id) 유니크 인덱스만으로 확인하는 메서드
+     */
+    public boolean existsByMemberIdAndChatRoomId(Long memberId, Long chatRoomId) {
+        return query.selectOne()
+                .from(memberChatRoom)
+                .where(memberChatRoom.member.id.eq(memberId), memberChatRoom.chatRoom.id.eq(chatRoomId))
+                .fetchFirst() != null;
+    }
+
+    public void removeMemberChatRoom(MemberChatRoom memberChatRoom) {
         Member member = memberChatRoom.getMember();
         ChatRoom chatRoom = memberChatRoom.getChatRoom();
 
@@ -47,27 +126,37 @@ public class MemberChatRoomDao {
                 .remove(memberChatRoom);
         chatRoom.getMemberChatRooms()
                 .remove(memberChatRoom);
-    }
 
-    public List<MemberChatRoom> filterWithCondition(List<MemberChatRoom> memberChatRooms, MemberChatRoomSearchCondition condition) {
-        log.info("MemberChatRoomDao.filterWithCondition() called");
+        // 채팅방 구성원이 바뀌었으므로 기본 채팅방 이름을 다시 계산하도록 함
+        chatRoomNameCache.evict(chatRoom);
+    }
 
-        // 조건이 없다면 모든 채팅방 반환
-        if (!StringUtils.hasText(condition.getName())) {
-            return memberChatRooms.stream().toList();
+    /**
+     * 회원의 채팅방 참여 정보를, 회원의 채팅방 컬렉션을 불러오지 않고 최대 limit개씩 삭제하는 메서드<br>
+     * 참여 정보가 삭제된 채팅방의 ID를 반환하므로, 빈 목록이 반환될 때까지 반복해 호출하면 모든 참여 정보가 삭제된다
+     */
+    public List<Long> removeMemberChatRooms(Long memberId, int limit) {
+        List<Tuple> rows = query.select(memberChatRoom.id, memberChatRoom.chatRoom.id)
+                .from(memberChatRoom)
+                .where(memberChatRoom.member.id.eq(memberId))
+                .limit(limit)
+                .fetch();
+        if (rows.isEmpty()) {
+            return List.of();
         }
 
-        return memberChatRooms.stream()
-                .filter(memberChatRoom -> {
-                    // 채팅방 별명이 있다면 별명으로 검색
-                    if (StringUtils.hasText(memberChatRoom.getAliasName())) {
-                        return memberChatRoom.getAliasName().contains(condition.getName());
-                    }
-                    // 별명이 없다면 조건으로 검색
-                    return memberChatRoom.getChatRoom()
-                            .getName()
-                            .contains(condition.getName());
-                })
+        query.delete(memberChatRoom)
+                .where(memberChatRoom.id.in(rows.stream()
+                        .map(row -> row.get(memberChatRoom.id))
+                        .toList()))
+                .execute();
+
+        // 채팅방 구성원이 바뀌었으므로 기본 채팅방 이름을 다시 계산하도록 함
+        List<Long> chatRoomIds = rows.stream()
+                .map(row -> row.get(memberChatRoom.chatRoom.id))
                 .toList();
+        chatRoomIds.forEach(chatRoomNameCache::evict);
+
+        return chatRoomIds;
     }
 }
@@ -1,64 +1,114 @@
 package junwatson.mychat.repository.dao;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.RefreshToken;
+import junwatson.mychat.domain.type.MemberRole;
+import junwatson.mychat.jwt.TokenHash;
 import junwatson.mychat.jwt.TokenType;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.UUID;
 
+import static junwatson.mychat.domain.QRefreshToken.refreshToken;
 import static junwatson.mychat.jwt.TokenConstant.*;
 
+/**
+ * 리프레시 토큰을 토큰 해시 단위로 저장하는 저장소<br>
+ * 회원 엔티티를 불러오지 않고 (token_hash) 유니크 인덱스로 조회, 폐기한다
+ */
 @Repository
-@Slf4j
 public class RefreshTokenDao {
 
-    public RefreshToken createRefreshToken(Member member) {
-        log.info("TokenProvider.createRefreshToken() called");
+    private final EntityManager em;
+    private final JPAQueryFactory query;
+    private final TransactionTemplate transactionTemplate;
 
-        String refreshTokenString = createRefreshTokenString(member);
+    public RefreshTokenDao(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(refreshTokenString)
-                .build();
-        member.setRefreshToken(refreshToken);
+    public String createRefreshToken(Member member) {
+        return createRefreshToken(member.getId(), member.getRole());
+    }
 
-        return refreshToken;
+    /**
+     * 새 리프레시 토큰을 발급하는 메서드로, 회원의 기존 토큰은 그대로 두어 여러 기기에서 동시에 로그인할 수 있도록 한다
+     */
+    public String createRefreshToken(Long memberId, MemberRole role) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(ACCESS_TOKEN_VALIDITY_TIME * 24));
+        String refreshTokenString = createRefreshTokenString(memberId, role, expiresAt);
+        String tokenHash = TokenHash.of(refreshTokenString);
+
+        em.persist(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .member(em.getReference(Member.class, memberId))
+                .expiresAt(expiresAt)
+                .build());
+
+        return refreshTokenString;
     }
 
-    public void removeRefreshToken(Member member) {
-        log.info("TokenProvider.removeRefreshToken() called");
+    /**
+     * 회원의 모든 리프레시 토큰을 폐기하는 메서드로, 로그아웃과 회원 탈퇴 시 사용한다
+     */
+    public void removeAllRefreshTokens(Member member) {
+        removeAllRefreshTokens(member.getId());
+    }
 
-        member.setRefreshToken(null);
+    public void removeAllRefreshTokens(Long memberId) {
+        query.delete(refreshToken)
+                .where(refreshToken.member.id.eq(memberId))
+                .execute();
     }
 
-    public boolean isValidateRefreshToken(Member member, String token) {
-        log.info("TokenProvider.isValidateRefreshToken() called");
+    /**
+     * 리프레시 토큰을 폐기하면서, 폐기 전에 해당 회원의 유효한 토큰이었는지 여부를 반환하는 메서드<br>
+     * 삭제된 행의 수로 유효성을 판단하므로, 같은 토큰으로 동시에 재발급을 요청해도 한 요청만 성공한다
+     */
+    public boolean revokeRefreshToken(Long memberId, String token) {
+        String tokenHash = TokenHash.of(token);
 
-        if (member == null || member.getRefreshToken() == null) {
-            return false;
-        }
+        long deleted = query.delete(refreshToken)
+                .where(refreshToken.tokenHash.eq(tokenHash),
+                        refreshToken.member.id.eq(memberId),
+                        refreshToken.expiresAt.after(LocalDateTime.now()))
+                .execute();
 
-        return member.getRefreshToken()
-                .getToken()
-                .equals(token);
+        return deleted > 0;
     }
 
-    private String createRefreshTokenString(Member member) {
-        log.info("TokenProvider.createRefreshTokenString() called");
-
-        long nowTime = (new Date().getTime());
-
-        Date accessTokenExpiredTime = new Date(nowTime + (ACCESS_TOKEN_VALIDITY_TIME * 24));
+    /**
+     * 만료된 리프레시 토큰을 주기적으로 DB에서 삭제하는 메서드
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-sweep-interval-millis:600000}")
+    public void sweepExpiredRefreshTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> query.delete(refreshToken)
+                .where(refreshToken.expiresAt.before(now))
+                .execute());
+    }
 
+    private String createRefreshTokenString(Long memberId, MemberRole role, LocalDateTime expiresAt) {
+        // 같은 시각에 발급된 토큰끼리도 해시가 겹치지 않도록 고유한 ID를 포함함
         return Jwts.builder()
-                .setSubject(member.getId().toString())
-                .claim(ROLE_CLAIM, member.getRole().name())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(memberId.toString())
+                .claim(ROLE_CLAIM, role.name())
                 .claim(TOKEN_TYPE_CLAIM, TokenType.REFRESH)
-                .setExpiration(accessTokenExpiredTime)
+                .setExpiration(Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()))
                 .signWith(KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
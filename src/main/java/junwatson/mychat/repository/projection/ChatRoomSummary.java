@@ -0,0 +1,38 @@
+package junwatson.mychat.repository.projection;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원의 채팅방 목록을 보여주기 위해 필요한 정보를 한 번에 조회한 결과
+ */
+@Getter
+public class ChatRoomSummary {
+
+    private final Long id;
+    private final String name;
+    private final String profileUrl;
+    private final String aliasName;
+    private final String aliasProfileUrl;
+    private final LocalDateTime lastChatDate;
+    private final int unconfirmedCounter;
+
+    @Setter
+    private String lastChatContent;
+    private final List<String> otherMemberNames = new ArrayList<>();
+
+    public ChatRoomSummary(Long id, String name, String profileUrl, String aliasName, String aliasProfileUrl,
+                           LocalDateTime lastChatDate, Long unconfirmedCounter) {
+        this.id = id;
+        this.name = name;
+        this.profileUrl = profileUrl;
+        this.aliasName = aliasName;
+        this.aliasProfileUrl = aliasProfileUrl;
+        this.lastChatDate = lastChatDate;
+        this.unconfirmedCounter = unconfirmedCounter == null ? 0 : unconfirmedCounter.intValue();
+    }
+}
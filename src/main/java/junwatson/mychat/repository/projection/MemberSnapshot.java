@@ -0,0 +1,25 @@
+package junwatson.mychat.repository.projection;
+
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.type.MemberRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 요청한 회원을 식별하기 위한 가벼운 회원 정보<br>
+ * 영속성 컨텍스트에 올라가지 않으므로, 조회 전용 요청에서 Member 엔티티 대신 사용한다
+ */
+@Getter
+@AllArgsConstructor
+public class MemberSnapshot {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final MemberRole role;
+    private final String profileUrl;
+
+    public static MemberSnapshot from(Member member) {
+        return new MemberSnapshot(member.getId(), member.getEmail(), member.getName(), member.getRole(), member.getProfileUrl());
+    }
+}
@@ -0,0 +1,15 @@
+package junwatson.mychat.repository.search;
+
+import java.util.List;
+
+/**
+ * 채팅방 안에서 검색어를 포함한 채팅을 찾는 검색 인덱스<br>
+ * chat.search.index 설정에 따라 구현체가 선택된다
+ */
+public interface ChatSearchIndex {
+
+    /**
+     * 채팅방에서 검색어를 포함한 채팅의 ID를 관련도가 높은 순으로 조회하는 메서드
+     */
+    List<Long> search(Long chatRoomId, String keyword, int offset, int limit);
+}
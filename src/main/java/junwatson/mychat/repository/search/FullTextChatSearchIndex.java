@@ -0,0 +1,83 @@
+package junwatson.mychat.repository.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * MySQL의 ngram 파서를 사용한 FULLTEXT 인덱스로 채팅을 검색하는 구현체<br>
+ * 띄어쓰기로 단어를 구분하지 않고 글자 단위로 인덱싱하므로, 한국어 검색어도 부분 일치로 검색된다<br>
+ * 인덱스는 InnoDB가 채팅의 생성, 수정, 삭제와 같은 트랜잭션 안에서 갱신한다<br>
+ * 인덱스는 db/chat-fulltext-index.sql을 직접 실행해 만들어야 한다
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.search.index", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextChatSearchIndex implements ChatSearchIndex {
+
+    private static final String INDEX_NAME = "chat_content_fulltext_index";
+    private static final int NGRAM_TOKEN_SIZE = 2; // MySQL ngram_token_size 기본값
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 서버 시작 시 FULLTEXT 인덱스가 있는지 확인하는 메서드<br>
+     * 인덱스를 만드는 동안 채팅 저장이 막히므로 직접 만들지 않으며, 인덱스가 없다면 검색이 실패하므로 에러 로그를 남긴다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndex() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.statistics where table_schema = database() and table_name = 'chat' and index_name = ?",
+                Integer.class, INDEX_NAME);
+        if (count == null || count == 0) {
+            log.error("FULLTEXT index {} is missing, apply db/chat-fulltext-index.sql or set chat.search.index=scan", INDEX_NAME);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> search(Long chatRoomId, String keyword, int offset, int limit) {
+        // ngram 토큰보다 짧은 검색어는 FULLTEXT 인덱스로 찾을 수 없으므로, 채팅방 범위 안에서 직접 비교함
+        if (keyword.length() < NGRAM_TOKEN_SIZE) {
+            return em.createNativeQuery("select c.id from chat c where c.chat_room_id = :chatRoomId and c.content like :keyword " +
+                            "order by c.input_date desc, c.id desc", Long.class)
+                    .setParameter("chatRoomId", chatRoomId)
+                    .setParameter("keyword", "%" + escapeLike(keyword) + "%")
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        // 검색어 전체를 하나의 구문으로 검색하고, 관련도가 같다면 최신 채팅을 먼저 보여줌
+        return em.createNativeQuery("select c.id from chat c where c.chat_room_id = :chatRoomId " +
+                        "and match(c.content) against (:keyword in boolean mode) " +
+                        "order by match(c.content) against (:keyword in boolean mode) desc, c.input_date desc, c.id desc", Long.class)
+                .setParameter("chatRoomId", chatRoomId)
+                .setParameter("keyword", toPhrase(keyword))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 검색어에 포함된 불리언 모드 연산자가 해석되지 않도록, 큰따옴표를 제거하고 구문으로 감싸는 메서드
+     */
+    private String toPhrase(String keyword) {
+        return "\"" + keyword.replace("\"", " ") + "\"";
+    }
+
+    private String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,22 @@
+package junwatson.mychat.repository.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL과 Querydsl에서 MySQL의 MATCH ... AGAINST 구문을 사용할 수 있도록 fulltext_match 함수를 등록하는 클래스<br>
+ * function('fulltext_match', 컬럼, 검색어) 형태로 호출하며, 불리언 모드의 관련도를 반환한다
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fulltext_match",
+                "match(?1) against (?2 in boolean mode)",
+                functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,44 @@
+package junwatson.mychat.repository.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 이메일과 이름의 부분 일치 검색에 사용할 ngram FULLTEXT 인덱스가 있는지 확인하는 클래스<br>
+ * member.search.infix-index 설정이 켜져 있을 때에만 동작하며, 인덱스는 db/member-fulltext-index.sql을 직접 실행해 만들어야 한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.search.infix-index", havingValue = "true")
+public class MemberFullTextIndexVerifier {
+
+    private static final String EMAIL_INDEX_NAME = "member_email_fulltext_index";
+    private static final String NAME_INDEX_NAME = "member_name_fulltext_index";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 서버 시작 시 FULLTEXT 인덱스가 있는지 확인하는 메서드<br>
+     * 인덱스를 만드는 동안 회원 정보 저장이 막히므로 직접 만들지 않으며, 인덱스가 없다면 검색이 실패하므로 에러 로그를 남긴다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        verifyIndex(EMAIL_INDEX_NAME);
+        verifyIndex(NAME_INDEX_NAME);
+    }
+
+    private void verifyIndex(String indexName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.statistics where table_schema = database() and table_name = 'member' and index_name = ?",
+                Integer.class, indexName);
+        if (count == null || count == 0) {
+            log.error("FULLTEXT index {} is missing, apply db/member-fulltext-index.sql or set member.search.infix-index=false", indexName);
+        }
+    }
+}
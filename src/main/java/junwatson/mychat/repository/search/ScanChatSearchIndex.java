@@ -0,0 +1,36 @@
+package junwatson.mychat.repository.search;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static junwatson.mychat.domain.QChat.chat;
+
+/**
+ * FULLTEXT 인덱스를 지원하지 않는 DB를 위해, 채팅방 범위 안에서 LIKE 검색을 하는 구현체<br>
+ * 관련도 대신 최신순으로 정렬한다
+ */
+@Repository
+@ConditionalOnProperty(name = "chat.search.index", havingValue = "scan")
+public class ScanChatSearchIndex implements ChatSearchIndex {
+
+    private final JPAQueryFactory query;
+
+    public ScanChatSearchIndex(EntityManager em) {
+        this.query = new JPAQueryFactory(em);
+    }
+
+    @Override
+    public List<Long> search(Long chatRoomId, String keyword, int offset, int limit) {
+        return query.select(chat.id)
+                .from(chat)
+                .where(chat.chatRoom.id.eq(chatRoomId), chat.content.contains(keyword))
+                .orderBy(chat.inputDate.desc(), chat.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+}
@@ -1,11 +1,13 @@
 package junwatson.mychat.service;
 
+import io.micrometer.core.annotation.Timed;
 import junwatson.mychat.domain.Blacklist;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.MemberChatRoom;
 import junwatson.mychat.dto.request.*;
 import junwatson.mychat.dto.response.ChatRoomInfoResponseDto;
+import junwatson.mychat.dto.response.ChatRoomSummaryResponseDto;
 import junwatson.mychat.dto.response.MemberInfoResponseDto;
 import junwatson.mychat.exception.BlockException;
 import junwatson.mychat.exception.ChatRoomNotExistsException;
@@ -13,21 +15,24 @@ import junwatson.mychat.exception.IllegalMemberStateException;
 import junwatson.mychat.exception.MemberNotExistsException;
 import junwatson.mychat.repository.ChatRoomRepository;
 import junwatson.mychat.repository.MemberRepository;
+import junwatson.mychat.repository.cache.ChatRoomNameCache;
 import junwatson.mychat.repository.condition.MemberChatRoomSearchCondition;
+import junwatson.mychat.repository.dao.BlacklistDao;
 import junwatson.mychat.repository.dao.ChatDao;
 import junwatson.mychat.repository.dao.MemberChatRoomDao;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 @Transactional
 public class ChatRoomService {
 
@@ -35,74 +40,48 @@ public class ChatRoomService {
     private final MemberRepository memberRepository;
     private final ChatDao chatDao;
     private final MemberChatRoomDao memberChatRoomDao;
+    private final BlacklistDao blacklistDao;
+    private final ChatRoomNameCache chatRoomNameCache;
 
     public ChatRoomInfoResponseDto createChatRoom(Member requsetMember, ChatRoomCreateRequestDto requestDto) {
-        log.info("ChatRoomService.createChatRoom() called");
-
-        ChatRoom chatRoom = chatRoomRepository.save(requestDto.toEntity());
-
         // 유효성 검사 및 requestDto를 통해 회원 조회
-        if (requestDto.getFriends().isEmpty()) {
+        if (CollectionUtils.isEmpty(requestDto.getFriends())) {
             throw new IllegalArgumentException("다른 회원 잆이 채팅방을 만들 수 없습니다.");
         }
 
         List<Member> members = new ArrayList<>();
         members.add(requsetMember);
-        for (ChatRoomCreateRequestDto.Friend friend : requestDto.getFriends()) {
-            Member member = memberRepository.findByEmail(friend.getEmail())
-                    .orElseThrow(() -> new MemberNotExistsException("해당 이메일을 지닌 회원이 존재하지 않습니다: " + friend.getEmail()));
-
-            if (members.contains(member) || member.equals(requsetMember)) {
-                throw new IllegalArgumentException("회원 정보가 중복되었습니다.");
-            }
-            if (isBlocked(requsetMember, member)) {
-                throw new BlockException("나를 차단한 회원입니다.");
-            }
-            // 차단한 회원과 채팅방을 만드려 할 경우 프론트 측에서 경고창을 띄울 수 있도록 알림
-            if (hasBlock(requsetMember, member)) {
-                throw new BlockException("내가 차단한 회원입니다: " + member.getEmail());
-            }
-
-            members.add(member);
-        }
+        members.addAll(findFriends(requsetMember, requestDto.getFriends().stream()
+                .map(ChatRoomCreateRequestDto.Friend::getEmail)
+                .toList()));
 
         // 각 회원을 채팅방에 참여시킴
-        StringBuilder systemChatBuilder = new StringBuilder("새로운 채팅방이 생성되었습니다. 구성원: ");
-        for (Member member : members) {
-            memberChatRoomDao.createMemberChatRoom(member, chatRoom);
-            systemChatBuilder.append(member.getName()).append(", ");
-        }
+        ChatRoom chatRoom = chatRoomRepository.save(requestDto.toEntity());
+        memberChatRoomDao.createMemberChatRooms(members, chatRoom);
 
         // 시스템 채팅 추가
-        systemChatBuilder.delete(systemChatBuilder.length() - 2, systemChatBuilder.length());
-        chatDao.createSystemChat(chatRoom, systemChatBuilder.toString());
+        chatDao.createSystemChat(chatRoom, "새로운 채팅방이 생성되었습니다. 구성원: " + joinNames(members));
 
-        return ChatRoomInfoResponseDto.from(memberChatRoomDao.findByMemberAndChatRoom(requsetMember, chatRoom)
-                .orElseThrow(() -> new RuntimeException("채팅방을 만드는 과정에서 문제가 발생했습니다.")));
+        return ChatRoomInfoResponseDto.of(memberChatRoomDao.findByMemberAndChatRoom(requsetMember, chatRoom)
+                .orElseThrow(() -> new RuntimeException("채팅방을 만드는 과정에서 문제가 발생했습니다.")), chatRoomNameCache);
     }
 
-    public List<ChatRoomInfoResponseDto> findChatRooms(Member member) {
-        log.info("ChatRoomService.findChatRooms() called");
-
-        List<ChatRoomInfoResponseDto> responseDto = new ArrayList<>();
-
-        // 엔티티를 DTO로 변환
-        for (MemberChatRoom memberChatRoom : member.getMemberChatRooms()) {
-            responseDto.add(ChatRoomInfoResponseDto.from(memberChatRoom));
-        }
-
-        return responseDto;
+    @Timed(value = "chat.room.list", histogram = true)
+    public List<ChatRoomSummaryResponseDto> findChatRooms(MemberSnapshot member) {
+        // 마지막 채팅과 읽지 않은 채팅 수를 포함해, 마지막 활동 시각 순으로 조회
+        return chatRoomRepository.findChatRoomSummaries(member)
+                .stream()
+                .map(ChatRoomSummaryResponseDto::from)
+                .toList();
     }
 
     public List<ChatRoomInfoResponseDto> searchChatRooms(Member member, ChatRoomSearchRequestDto requestDto) {
-        log.info("ChatRoomService.searchChatRooms() called");
-
-        // 채팅방 이름을 통해 검색
+        // 별명 또는 채팅방 이름을 통해, 최근 활동한 채팅방부터 한 페이지만 검색
         MemberChatRoomSearchCondition condition = requestDto.toCondition();
-        List<MemberChatRoom> memberChatRooms = memberChatRoomDao.filterWithCondition(member.getMemberChatRooms(), condition);
+        List<MemberChatRoom> memberChatRooms = chatRoomRepository.searchMemberChatRooms(member, condition);
 
         return memberChatRooms.stream()
-                .map(ChatRoomInfoResponseDto::from)
+                .map(memberChatRoom -> ChatRoomInfoResponseDto.of(memberChatRoom, chatRoomNameCache))
                 .toList();
     }
 
@@ -111,8 +90,6 @@ public class ChatRoomService {
      * 방의 이름이나 프로필을 본인에게만 변경할 것이기 때문에, ChatRoom 엔티티의 정보를 수정하지 않고 MemberChatRoom 엔티티의 정보를 수정한다
      */
     public ChatRoomInfoResponseDto modifyChatRoom(Member member, ChatRoomModificationRequestDto requestDto) {
-        log.info("ChatRoomService.modifyChatRoom() called");
-
         String name = requestDto.getName();
         String profileUrl = requestDto.getProfileUrl();
 
@@ -130,12 +107,10 @@ public class ChatRoomService {
             memberChatRoom.setAliasProfileUrl(profileUrl);
         }
 
-        return ChatRoomInfoResponseDto.from(memberChatRoom);
+        return ChatRoomInfoResponseDto.of(memberChatRoom, chatRoomNameCache);
     }
 
     public ChatRoomInfoResponseDto leaveChatRoom(Member member, ChatRoomInfoRequestDto requestDto) {
-        log.info("ChatRoomService.leaveChatRoom() called");
-
         // 유효성 검사
         ChatRoom chatRoom = chatRoomRepository.findById(requestDto.getId())
                 .orElseThrow(() -> new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다."));
@@ -148,14 +123,12 @@ public class ChatRoomService {
         // 시스템 채팅 추가
         chatDao.createSystemChat(chatRoom, member.getName()+"님이 채팅방에서 나갔습니다");
 
-        return ChatRoomInfoResponseDto.from(memberChatRoom);
+        return ChatRoomInfoResponseDto.of(memberChatRoom, chatRoomNameCache);
     }
 
     public ChatRoomInfoResponseDto inviteChatRoom(Member requestMember, ChatRoomInviteRequestDto requestDto) {
-        log.info("ChatRoomService.inviteChatRoom() called");
-
         // 유효성 검사
-        if (requestDto.getFriends().isEmpty()) {
+        if (CollectionUtils.isEmpty(requestDto.getFriends())) {
             throw new IllegalArgumentException("초대하고자 하는 회원이 없습니다.");
         }
 
@@ -164,41 +137,80 @@ public class ChatRoomService {
         MemberChatRoom findMemberChatRoom = memberChatRoomDao.findByMemberAndChatRoom(requestMember, chatRoom)
                 .orElseThrow(() -> new IllegalMemberStateException("해당 채팅방에 소속되어 있지 않습니다."));
 
-        List<Member> members = new ArrayList<>();
-        for (ChatRoomInviteRequestDto.Friend friend : requestDto.getFriends()) {
-            members.add(memberRepository.findByEmail(friend.getEmail())
-                    .orElseThrow(() -> new MemberNotExistsException("초대하고자 하는 회원이 존재하지 않습니다.")));
-        }
-
-        // 회원 초대 및 시스템 채팅 추가
-        StringBuilder systemChatBuilder = new StringBuilder();
+        List<Member> members = findFriends(requestMember, requestDto.getFriends().stream()
+                .map(ChatRoomInviteRequestDto.Friend::getEmail)
+                .toList());
+        Set<Long> chatRoomMemberIds = chatRoom.getMemberChatRooms().stream()
+                .map(memberChatRoom -> memberChatRoom.getMember().getId())
+                .collect(Collectors.toSet());
         for (Member member : members) {
-            memberChatRoomDao.createMemberChatRoom(member, chatRoom);
-            systemChatBuilder.append(member.getName()).append(", ");
+            if (chatRoomMemberIds.contains(member.getId())) {
+                throw new IllegalArgumentException("이미 채팅방에 참여한 회원입니다: " + member.getEmail());
+            }
         }
 
-        systemChatBuilder.delete(systemChatBuilder.length() - 2, systemChatBuilder.length());
-        systemChatBuilder.append("님이 채팅방에 초대되었습니다.");
-        chatDao.createSystemChat(chatRoom, systemChatBuilder.toString());
+        // 회원 초대 및 시스템 채팅 추가
+        memberChatRoomDao.createMemberChatRooms(members, chatRoom);
+        chatDao.createSystemChat(chatRoom, joinNames(members) + "님이 채팅방에 초대되었습니다.");
 
-        return ChatRoomInfoResponseDto.from(findMemberChatRoom);
+        return ChatRoomInfoResponseDto.of(findMemberChatRoom, chatRoomNameCache);
     }
 
     /**
-     * 사용자가 해당 회원을 차단했는지 여부를 반환하는 메서드
+     * 회원이 해당 채팅방에 소속되어 있는지 여부를 반환하는 메서드
      */
-    private boolean hasBlock(Member fromMember, Member toMember) {
-        return fromMember.getBlacklists().stream()
-                .map(Blacklist::getTargetMember)
-                .anyMatch(targetMember -> targetMember.equals(toMember));
+    @Transactional(readOnly = true)
+    public boolean isMember(Long memberId, Long chatRoomId) {
+        return memberChatRoomDao.existsByMemberIdAndChatRoomId(memberId, chatRoomId);
     }
 
     /**
-     * 사용자가 해당 회원에게 차단당했는지 여부를 반환하는 메서드
+     * 이메일 목록으로 채팅방에 참여시킬 회원들을 조회하는 메서드<br>
+     * 중복 확인은 해시 집합으로, 회원 조회와 양방향 차단 확인은 각각 한 번의 쿼리로 처리해 인원수와 관계없이 쿼리 수가 일정하다<br>
+     * 이메일은 단건 조회(findByEmail)와 같이 전달된 값 그대로 비교한다
      */
-    private boolean isBlocked(Member fromMember, Member toMember) {
-        return fromMember.getBlockedLists().stream()
-                .map(Blacklist::getMember)
-                .anyMatch(targetMember -> targetMember.equals(toMember));
+    private List<Member> findFriends(Member requestMember, List<String> emails) {
+        // 본인의 이메일도 중복으로 취급하기 위해 먼저 넣어두었다가, 확인이 끝나면 제거
+        Set<String> uniqueEmails = new LinkedHashSet<>();
+        uniqueEmails.add(requestMember.getEmail());
+        for (String email : emails) {
+            if (email == null) {
+                throw new IllegalArgumentException("이메일이 전달되지 않았습니다.");
+            }
+            if (!uniqueEmails.add(email)) {
+                throw new IllegalArgumentException("회원 정보가 중복되었습니다.");
+            }
+        }
+        uniqueEmails.remove(requestMember.getEmail());
+
+        Map<String, Member> membersByEmail = memberRepository.findAllByEmails(uniqueEmails).stream()
+                .collect(Collectors.toMap(Member::getEmail, Function.identity()));
+        List<Member> members = new ArrayList<>();
+        for (String email : uniqueEmails) {
+            Member member = membersByEmail.get(email);
+            if (member == null) {
+                throw new MemberNotExistsException("해당 이메일을 지닌 회원이 존재하지 않습니다: " + email);
+            }
+            members.add(member);
+        }
+
+        List<Blacklist> blacklists = blacklistDao.findBlacklistsBetween(requestMember, members);
+        for (Blacklist blacklist : blacklists) {
+            if (blacklist.getTargetMember().getId().equals(requestMember.getId())) {
+                throw new BlockException("나를 차단한 회원입니다.");
+            }
+        }
+        // 차단한 회원과 채팅방을 만드려 할 경우 프론트 측에서 경고창을 띄울 수 있도록 알림
+        if (!blacklists.isEmpty()) {
+            throw new BlockException("내가 차단한 회원입니다: " + blacklists.getFirst().getTargetMember().getEmail());
+        }
+
+        return members;
+    }
+
+    private static String joinNames(List<Member> members) {
+        return members.stream()
+                .map(Member::getName)
+                .collect(Collectors.joining(", "));
     }
 }
@@ -1,32 +1,47 @@
 package junwatson.mychat.service;
 
+import io.micrometer.core.annotation.Timed;
 import junwatson.mychat.domain.Chat;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.MemberChatRoom;
+import junwatson.mychat.domain.ReadWatermark;
+import junwatson.mychat.domain.type.ChatEventType;
 import junwatson.mychat.dto.request.ChatCreateRequestDto;
+import junwatson.mychat.dto.request.ChatHistoryRequestDto;
 import junwatson.mychat.dto.request.ChatInfoRequestDto;
 import junwatson.mychat.dto.request.ChatRoomInfoRequestDto;
 import junwatson.mychat.dto.request.ChatSearchRequestDto;
+import junwatson.mychat.dto.response.ChatHistoryResponseDto;
 import junwatson.mychat.dto.response.ChatInfoResponseDto;
+import junwatson.mychat.event.ChatEvent;
+import junwatson.mychat.ingestion.ChatIngestionEntry;
+import junwatson.mychat.ingestion.ChatIngestionQueue;
+import junwatson.mychat.metrics.ChatMetrics;
+import junwatson.mychat.metrics.ChatMetrics.ReadOperation;
 import junwatson.mychat.exception.ChatNotExistsException;
 import junwatson.mychat.exception.ChatRoomNotExistsException;
 import junwatson.mychat.exception.IllegalChatRoomStateException;
 import junwatson.mychat.exception.IllegalMemberStateException;
 import junwatson.mychat.repository.ChatRoomRepository;
-import junwatson.mychat.repository.condition.ChatSearchCondition;
+import junwatson.mychat.repository.condition.ChatCursor;
+import junwatson.mychat.repository.condition.ChatHistoryCondition;
 import junwatson.mychat.repository.dao.ChatDao;
 import junwatson.mychat.repository.dao.MemberChatRoomDao;
+import junwatson.mychat.repository.projection.MemberSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
-@Slf4j
 @RequiredArgsConstructor
 @Transactional
 public class ChatService {
@@ -34,32 +49,72 @@ public class ChatService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatDao chatDao;
     private final MemberChatRoomDao memberChatRoomDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatIngestionQueue chatIngestionQueue;
+    private final ChatMetrics chatMetrics;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * 채팅을 생성하는 메서드<br>
+     * 쓰기 지연 모드에서는 저널의 fsync를 기다리는 동안 DB 커넥션을 붙잡지 않도록, 트랜잭션을 커밋한 뒤 저널에 기록한다
+     */
+    @Timed(value = "chat.create", histogram = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ChatInfoResponseDto createUserChat(Member member, ChatCreateRequestDto requestDto) {
-        log.info("ChatService.createChat() called");
+        if (!chatIngestionQueue.isEnabled()) {
+            return transactionTemplate.execute(status -> saveUserChat(member, requestDto));
+        }
 
-        // 유효성 검사
-        ChatRoom chatRoom = chatRoomRepository.findById(requestDto.getChatRoomId())
-                .orElseThrow(() -> new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다."));
-        MemberChatRoom memberChatRoom = member.getMemberChatRooms().stream()
-                .filter(memberchatroom -> memberchatroom.getChatRoom().equals(chatRoom))
-                .findAny()
-                .orElseThrow(() -> new IllegalMemberStateException("해당 채팅방에 소속되어 있지 않습니다."));
+        // 쓰기 지연 모드라면 트랜잭션 안에서는 검증과 조회 시각 갱신만 하고, 커밋 이후 저널에 기록한 즉시 응답함
+        PreparedChat prepared = transactionTemplate.execute(status -> prepareUserChat(member, requestDto));
+        chatIngestionQueue.offer(prepared.getEntry());
+
+        // 저널에 기록된 채팅만 전달되도록, 트랜잭션을 커밋하고 저널에 기록한 뒤 이벤트를 발행함
+        ChatInfoResponseDto responseDto = prepared.getResponseDto();
+        eventPublisher.publishEvent(ChatEvent.of(ChatEventType.CREATED, requestDto.getChatRoomId(), responseDto));
+
+        return responseDto;
+    }
+
+    private ChatInfoResponseDto saveUserChat(Member member, ChatCreateRequestDto requestDto) {
+        // 유효성 검사(회원의 채팅방 컬렉션을 불러오지 않고 인덱스로 소속 여부를 확인함)
+        Long chatRoomId = requestDto.getChatRoomId();
+        MemberChatRoom memberChatRoom = findMemberChatRoom(member.getId(), chatRoomId);
+        ChatRoom chatRoom = memberChatRoom.getChatRoom();
 
         // 채팅방 조회 시각을 현재로 설정(채팅을 쳤다는 것은 채팅방을 확인한 것으로 판단함)
-        memberChatRoom.setViewDateToNow();
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        setViewDateToNow(memberChatRoom, watermark);
+        chatMetrics.recordRoomSize(watermark.size());
+
+        // 채팅 생성(회원과 채팅방의 채팅 컬렉션을 불러오지 않고 바로 저장함)
+        Chat chat = chatDao.save(requestDto.toEntityWithMemberChatRoom(member, chatRoom));
 
-        // 채팅 생성
-        Chat chat = requestDto.toEntityWithMemberChatRoom(member, chatRoom);
-        member.getChats().add(chat);
-        chatRoom.getChats().add(chat);
+        // 커밋 이후 채팅방 구독자들에게 새 채팅을 전달
+        int unconfirmedCounter = calculateUnconfirmedCounter(chat, watermark);
+        eventPublisher.publishEvent(ChatEvent.of(ChatEventType.CREATED, chat, unconfirmedCounter));
 
-        return ChatInfoResponseDto.of(chat, calculateUnconfirmedCounter(chat, chatRoom));
+        return ChatInfoResponseDto.of(chat, unconfirmedCounter);
     }
 
-    public ChatInfoResponseDto deleteChat(Member member, ChatInfoRequestDto requestDto) {
-        log.info("ChatService.deleteChat() called");
+    private PreparedChat prepareUserChat(Member member, ChatCreateRequestDto requestDto) {
+        // 유효성 검사(회원의 채팅방 컬렉션을 불러오지 않고 인덱스로 소속 여부를 확인함)
+        MemberChatRoom memberChatRoom = findMemberChatRoom(member.getId(), requestDto.getChatRoomId());
+        ChatRoom chatRoom = memberChatRoom.getChatRoom();
 
+        // 채팅방 조회 시각을 현재로 설정(채팅을 쳤다는 것은 채팅방을 확인한 것으로 판단함)
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        setViewDateToNow(memberChatRoom, watermark);
+        chatMetrics.recordRoomSize(watermark.size());
+
+        // DB에는 백그라운드에서 모아서 저장하므로, 저장할 채팅과 응답만 만들어 둠
+        ChatIngestionEntry entry = requestDto.toIngestionEntry(member, chatRoom);
+        ChatInfoResponseDto responseDto = entry.toResponseDto(watermark.countUnconfirmed(entry.getInputDate()));
+
+        return new PreparedChat(entry, responseDto);
+    }
+
+    public ChatInfoResponseDto deleteChat(Member member, ChatInfoRequestDto requestDto) {
         Long chatId = requestDto.getChatId();
         Long chatRoomId = requestDto.getChatRoomId();
 
@@ -73,73 +128,137 @@ public class ChatService {
         }
 
         // 보낸지 5분이 넘은 채팅일 경우, '삭제된 메시지입니다'로 변경
+        ChatEventType eventType;
         if (chat.getInputDate().isBefore(LocalDateTime.now().plusMinutes(-5))) {
             chat.setContent("삭제된 메시지입니다");
+            eventType = ChatEventType.MODIFIED;
         } else {
             chatDao.remove(chat);
+            eventType = ChatEventType.DELETED;
         }
 
-        return ChatInfoResponseDto.of(chat, calculateUnconfirmedCounter(chat, chatRoom));
-    }
+        // 커밋 이후 채팅방 구독자들에게 변경 사항을 전달
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        int unconfirmedCounter = calculateUnconfirmedCounter(chat, watermark);
+        eventPublisher.publishEvent(ChatEvent.of(eventType, chat, unconfirmedCounter));
 
-    public List<ChatInfoResponseDto> readChats(Member member, ChatRoomInfoRequestDto requestDto) {
-        log.info("ChatService.readChats() called");
+        return ChatInfoResponseDto.of(chat, unconfirmedCounter);
+    }
 
+    /**
+     * 채팅방의 최신 채팅을 한 페이지만 조회하는 메서드<br>
+     * 이전 채팅은 readChatHistory를 통해 커서로 이어서 조회해야 하며, 채팅방의 전체 채팅을 불러오지 않는다
+     */
+    @Timed(value = "chat.read", extraTags = {"operation", "read"}, histogram = true)
+    public List<ChatInfoResponseDto> readChats(MemberSnapshot member, ChatRoomInfoRequestDto requestDto) {
         // 유효성 검사
-        ChatRoom chatRoom = chatRoomRepository.findById(requestDto.getId())
-                .orElseThrow(() -> new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다."));
-        MemberChatRoom memberChatRoom = memberChatRoomDao.findByMemberAndChatRoom(member, chatRoom)
-                .orElseThrow(() -> new IllegalMemberStateException("해당 채팅방에 소속되지 않았습니다."));
+        MemberChatRoom memberChatRoom = findMemberChatRoom(member.getId(), requestDto.getId());
+        ChatRoom chatRoom = memberChatRoom.getChatRoom();
 
         // 채팅방 조회 시각을 현재로 변경
-        memberChatRoom.setViewDateToNow();
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        setViewDateToNow(memberChatRoom, watermark);
 
-        // 조건 없이 모든 채팅을 조회하고, 날짜 순으로 정렬해 반환
-        return chatDao.searchByCondition(chatRoom, ChatSearchCondition.noCondition()).stream()
-                .sorted()
+        // 최신 채팅을 한 페이지만 조회해 반환하며, 다음 페이지 확인용으로 더 조회된 채팅은 제외함
+        ChatHistoryCondition condition = ChatHistoryCondition.latest();
+        List<ChatInfoResponseDto> responseDto = chatDao.findChatsBefore(chatRoom, condition).stream()
+                .limit(condition.getSize())
                 .map(chat -> {
-                    int unconfirmedCounter = calculateUnconfirmedCounter(chat, chatRoom);
+                    int unconfirmedCounter = calculateUnconfirmedCounter(chat, watermark);
                     return ChatInfoResponseDto.of(chat, unconfirmedCounter);
                 })
                 .toList();
+        chatMetrics.recordRoomSize(watermark.size());
+        chatMetrics.recordReturnedChats(ReadOperation.READ, responseDto.size());
+
+        return responseDto;
     }
 
-    public List<ChatInfoResponseDto> searchChats(Member member, ChatSearchRequestDto requestDto) {
-        log.info("ChatService.searchChats() called");
+    /**
+     * 채팅방의 채팅 기록을 커서 기반으로 한 페이지씩 조회하는 메서드<br>
+     * 채팅방의 전체 채팅을 불러오지 않기 때문에, 조회 비용은 페이지 크기에만 비례한다
+     */
+    @Timed(value = "chat.read", extraTags = {"operation", "history"}, histogram = true)
+    public ChatHistoryResponseDto readChatHistory(MemberSnapshot member, ChatHistoryRequestDto requestDto) {
+        // 유효성 검사
+        ChatHistoryCondition condition = requestDto.toCondition();
+        MemberChatRoom memberChatRoom = findMemberChatRoom(member.getId(), requestDto.getId());
+        ChatRoom chatRoom = memberChatRoom.getChatRoom();
+
+        // 채팅방 조회 시각을 현재로 변경
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        setViewDateToNow(memberChatRoom, watermark);
+
+        // 요청한 크기보다 1개 더 조회되었다면 이전 채팅이 남아 있는 것이므로, 마지막 채팅을 다음 커서로 사용
+        List<Chat> chats = chatDao.findChatsBefore(chatRoom, condition);
+        ChatCursor nextCursor = null;
+        if (chats.size() > condition.getSize()) {
+            chats = chats.subList(0, condition.getSize());
+            nextCursor = ChatCursor.from(chats.getLast());
+        }
 
+        List<ChatInfoResponseDto> responseDto = chats.stream()
+                .map(chat -> ChatInfoResponseDto.of(chat, calculateUnconfirmedCounter(chat, watermark)))
+                .toList();
+        chatMetrics.recordRoomSize(watermark.size());
+        chatMetrics.recordReturnedChats(ReadOperation.HISTORY, responseDto.size());
+
+        return ChatHistoryResponseDto.of(responseDto, nextCursor);
+    }
+
+    @Timed(value = "chat.search", histogram = true)
+    public List<ChatInfoResponseDto> searchChats(MemberSnapshot member, ChatSearchRequestDto requestDto) {
         // 유효성 검사
-        ChatRoom chatRoom = chatRoomRepository.findById(requestDto.getId())
-                .orElseThrow(() -> new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다."));
-        MemberChatRoom memberChatRoom = memberChatRoomDao.findByMemberAndChatRoom(member, chatRoom)
-                .orElseThrow(() -> new IllegalMemberStateException("해당 채팅방에 소속되지 않았습니다."));
+        MemberChatRoom memberChatRoom = findMemberChatRoom(member.getId(), requestDto.getId());
+        ChatRoom chatRoom = memberChatRoom.getChatRoom();
 
         // 채팅방 조회 시각을 현재로 함
-        memberChatRoom.setViewDateToNow();
+        ReadWatermark watermark = ReadWatermark.from(chatRoom.getMemberChatRooms());
+        setViewDateToNow(memberChatRoom, watermark);
 
-        return chatDao.searchByCondition(chatRoom, requestDto.toCondition()).stream()
+        List<ChatInfoResponseDto> responseDto = chatDao.searchByCondition(chatRoom, requestDto.toCondition()).stream()
                 .map(chat -> {
-                    int unconfirmedCounter = calculateUnconfirmedCounter(chat, chatRoom);
+                    int unconfirmedCounter = calculateUnconfirmedCounter(chat, watermark);
                     return ChatInfoResponseDto.of(chat, unconfirmedCounter);
                 })
                 .toList();
+        chatMetrics.recordRoomSize(watermark.size());
+        chatMetrics.recordReturnedChats(ReadOperation.SEARCH, responseDto.size());
+
+        return responseDto;
     }
 
     /**
-     * 채팅방의 회원 중 몇 명이나 해당 채팅을 읽지 않았는지를 반환하는 메서드
+     * 회원의 채팅방 컬렉션을 불러오지 않고, (member_id, chat_room_id) 인덱스로 소속 정보를 조회하는 메서드
      */
-    private int calculateUnconfirmedCounter(Chat chat, ChatRoom chatRoom) {
-        log.info("ChatService.calculateUnconfirmedCounter() called");
+    private MemberChatRoom findMemberChatRoom(Long memberId, Long chatRoomId) {
+        return memberChatRoomDao.findByMemberIdAndChatRoomId(memberId, chatRoomId)
+                .orElseThrow(() -> chatRoomRepository.findById(chatRoomId).isEmpty()
+                        ? new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다.")
+                        : new IllegalMemberStateException("해당 채팅방에 소속되어 있지 않습니다."));
+    }
 
-        int count = 0;
-        List<LocalDateTime> viewDates = chatRoom.getMemberChatRooms().stream()
-                .map(MemberChatRoom::getViewDate)
-                .toList();
-        for (LocalDateTime viewDate : viewDates) {
-            if (chat.getInputDate().isAfter(viewDate)) {
-                count++;
-            }
-        }
+    /**
+     * 채팅방의 회원 중 몇 명이나 해당 채팅을 읽지 않았는지를 반환하는 메서드<br>
+     * 채팅마다 호출되므로, 채팅방 회원들의 조회 시각은 미리 계산해 둔 ReadWatermark를 사용한다
+     */
+    private int calculateUnconfirmedCounter(Chat chat, ReadWatermark watermark) {
+        return watermark.countUnconfirmed(chat.getInputDate());
+    }
+
+    /**
+     * 채팅방 조회 시각을 현재로 설정하고, 변경된 조회 시각을 ReadWatermark에도 반영하는 메서드
+     */
+    private void setViewDateToNow(MemberChatRoom memberChatRoom, ReadWatermark watermark) {
+        LocalDateTime previousViewDate = memberChatRoom.getViewDate();
+        memberChatRoom.setViewDateToNow();
+        watermark.advance(previousViewDate, memberChatRoom.getViewDate());
+    }
 
-        return count;
+    @Getter
+    @AllArgsConstructor
+    private static class PreparedChat {
+        private ChatIngestionEntry entry;
+        private ChatInfoResponseDto responseDto;
     }
 }
@@ -1,6 +1,5 @@
 package junwatson.mychat.service;
 
-import com.google.gson.Gson;
 import junwatson.mychat.domain.Member;
 import junwatson.mychat.domain.type.MemberAuthorizationType;
 import junwatson.mychat.domain.type.MemberRole;
@@ -10,90 +9,60 @@ import junwatson.mychat.exception.IllegalMemberStateException;
 import junwatson.mychat.jwt.TokenProvider;
 import junwatson.mychat.repository.MemberRepository;
 import junwatson.mychat.repository.dao.RefreshTokenDao;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.net.URI;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static junwatson.mychat.config.OAuthConfig.OAUTH_EXECUTOR;
 
 @Service
-@Slf4j
 public class GoogleLoginService {
 
-    private final String GOOGLE_TOKEN_URL = "https://oauth2.googleapis.com/token";
-    private final String GOOGLE_CLIENT_ID;
-    private final String GOOGLE_CLIENT_SECRET;
-    private final String GOOGLE_REDIRECT_URI;
-
     private final MemberRepository memberRepository;
     private final TokenProvider tokenProvider;
     private final RefreshTokenDao refreshTokenDao;
-
-    public GoogleLoginService(
-            MemberRepository memberRepository,
-            TokenProvider tokenProvider,
-            @Value("${oauth.client-id}") String clientId,
-            @Value("${oauth.client-secret}") String clientSecret,
-            @Value("${oauth.redirect-url}") String redirectUrl,
-            RefreshTokenDao refreshTokenDao) {
-
+    private final GoogleOAuthClient googleOAuthClient;
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * 구글 응답을 받은 뒤 로그인 트랜잭션을 수행하는 스레드 풀로, HttpClient의 기본 스레드 풀과 분리되어 있다<br>
+     * 응답을 처리하는 HttpClient의 스레드가 트랜잭션과 커넥션 대기에 묶이지 않고, 동시에 실행되는 로그인 트랜잭션 수는 풀 크기로 제한된다
+     */
+    private final Executor executor;
+
+    public GoogleLoginService(MemberRepository memberRepository, TokenProvider tokenProvider, RefreshTokenDao refreshTokenDao,
+                              GoogleOAuthClient googleOAuthClient, TransactionTemplate transactionTemplate,
+                              @Qualifier(OAUTH_EXECUTOR) Executor executor) {
         this.memberRepository = memberRepository;
         this.tokenProvider = tokenProvider;
-        this.GOOGLE_CLIENT_ID = clientId;
-        this.GOOGLE_CLIENT_SECRET = clientSecret;
-        this.GOOGLE_REDIRECT_URI = redirectUrl;
         this.refreshTokenDao = refreshTokenDao;
+        this.googleOAuthClient = googleOAuthClient;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
     }
 
-    public String getGoogleAccessToken(String code) {
-        log.info("GoogleLoginService.getGoogleAccessToken() called");
-
-        RestTemplate restTemplate = new RestTemplate();
-        Map<String, String> params = Map.of(
-                "code", code,
-                "scope", "https://www.googleapis.com/auth/userinfo.profile https://www.googleapis.com/auth/userinfo.email",
-                "client_id", GOOGLE_CLIENT_ID,
-                "client_secret", GOOGLE_CLIENT_SECRET,
-                "redirect_uri", GOOGLE_REDIRECT_URI,
-                "grant_type", "authorization_code"
-        );
-
-        ResponseEntity<String> responseEntity = restTemplate.postForEntity(GOOGLE_TOKEN_URL, params, String.class);
-
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            String json = responseEntity.getBody();
-            Gson gson = new Gson();
-
-            return gson.fromJson(json, TokenDto.class)
-                    .getAccessToken();
-        }
-
-        throw new RuntimeException("구글 엑세스 토큰을 가져오는데 실패했습니다.");
+    /**
+     * 인가 코드로 구글 로그인 또는 회원가입을 진행하는 메서드<br>
+     * 회원 정보 조회는 엑세스 토큰이 있어야 가능하므로 두 요청을 이어서 보내되, 응답을 기다리는 동안 요청 스레드를 점유하지 않는다<br>
+     * 로그인 및 회원가입 트랜잭션은 크기가 제한된 OAuth 전용 스레드 풀에서 수행한다
+     */
+    public CompletableFuture<TokenDto> loginOrSignUp(String code) {
+        return googleOAuthClient.requestAccessToken(code)
+                .thenCompose(googleOAuthClient::requestUserInfo)
+                .thenApplyAsync(userInfo -> transactionTemplate.execute(status -> loginOrSignUp(userInfo)), executor);
     }
 
-    public TokenDto loginOrSignUp(String googleAccessToken) {
-        log.info("GoogleLoginService.loginOrSignUp() called");
-
-        MemberInfoDto userInfo = getUserInfo(googleAccessToken);
-
+    private TokenDto loginOrSignUp(MemberInfoDto userInfo) {
         // 유효성 검사
-        if (!userInfo.getVerifiedEmail()) {
+        if (!Boolean.TRUE.equals(userInfo.getVerifiedEmail())) {
             throw new RuntimeException("이메일 인증이 되지 않은 유저입니다.");
         }
 
         // 이미 가입되어 있는 회원이라면 로그인하고, 그렇지 않다면 회원가입시킴
         Member member = memberRepository.findByEmail(userInfo.getEmail())
-                .orElseGet(() -> memberRepository.save(Member.builder()
-                        .email(userInfo.getEmail())
-                        .name(userInfo.getName())
-                        .profileUrl(userInfo.getPictureUrl())
-                        .role(MemberRole.USER)
-                        .authorizedBy(MemberAuthorizationType.GOOGLE)
-                        .build())
-        );
+                .orElseGet(() -> signUp(userInfo));
 
         // 일반 회원가입과 중복될 수 없게 함
         if (member.getAuthorizedBy() != MemberAuthorizationType.GOOGLE) {
@@ -102,29 +71,22 @@ public class GoogleLoginService {
 
         return TokenDto.builder()
                 .accessToken(tokenProvider.createAccessToken(member))
-                .refreshToken(refreshTokenDao.createRefreshToken(member).getToken())
+                .refreshToken(refreshTokenDao.createRefreshToken(member))
                 .build();
     }
 
-    private MemberInfoDto getUserInfo(String accessToken) {
-        log.info("GoogleLoginService.getUserInfo() called");
-
-        RestTemplate restTemplate = new RestTemplate();
-        String url = "https://www.googleapis.com/oauth2/v2/userinfo?access_token=" + accessToken;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + accessToken);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        RequestEntity<Void> requestEntity = new RequestEntity<>(headers, HttpMethod.GET, URI.create(url));
-        ResponseEntity<String> responseEntity = restTemplate.exchange(requestEntity, String.class);
-
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            String json = responseEntity.getBody();
-            Gson gson = new Gson();
-            return gson.fromJson(json, MemberInfoDto.class);
+    private Member signUp(MemberInfoDto userInfo) {
+        // 탈퇴 처리가 끝나기 전까지는 같은 이메일로 다시 가입할 수 없음
+        if (memberRepository.existsByEmail(userInfo.getEmail())) {
+            throw new IllegalMemberStateException("탈퇴 처리 중인 회원입니다. 잠시 후 다시 시도해주세요.");
         }
 
-        throw new RuntimeException("유저 정보를 가져오는데 실패했습니다.");
+        return memberRepository.save(Member.builder()
+                .email(userInfo.getEmail())
+                .name(userInfo.getName())
+                .profileUrl(userInfo.getPictureUrl())
+                .role(MemberRole.USER)
+                .authorizedBy(MemberAuthorizationType.GOOGLE)
+                .build());
     }
-}
\ No newline at end of file
+}
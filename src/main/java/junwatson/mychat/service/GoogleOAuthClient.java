@@ -0,0 +1,128 @@
+package junwatson.mychat.service;
+
+import com.google.gson.Gson;
+import junwatson.mychat.dto.MemberInfoDto;
+import junwatson.mychat.dto.response.TokenDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 구글 OAuth 서버와 통신하는 클라이언트<br>
+ * 하나의 HttpClient를 공유해 keep-alive 커넥션을 재사용하며, 연결 및 응답 대기 시간에 제한을 둔다<br>
+ * 응답은 HttpClient의 기본 스레드 풀에서 처리하며, 응답 이후의 DB 작업은 GoogleLoginService가 OAuth 전용 스레드 풀로 넘긴다
+ */
+@Component
+public class GoogleOAuthClient {
+
+    private static final String SCOPE = "https://www.googleapis.com/auth/userinfo.profile https://www.googleapis.com/auth/userinfo.email";
+
+    private final HttpClient httpClient;
+    private final Gson gson = new Gson();
+    private final URI tokenUri;
+    private final URI userInfoUri;
+    private final Duration readTimeout;
+    private final String clientId;
+    private final String clientSecret;
+    private final String redirectUri;
+
+    @Autowired
+    public GoogleOAuthClient(
+            @Value("${oauth.token-url:https://oauth2.googleapis.com/token}") String tokenUrl,
+            @Value("${oauth.user-info-url:https://www.googleapis.com/oauth2/v2/userinfo}") String userInfoUrl,
+            @Value("${oauth.connect-timeout-millis:3000}") long connectTimeoutMillis,
+            @Value("${oauth.read-timeout-millis:5000}") long readTimeoutMillis,
+            @Value("${oauth.client-id}") String clientId,
+            @Value("${oauth.client-secret}") String clientSecret,
+            @Value("${oauth.redirect-url}") String redirectUrl) {
+
+        this(HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .build(),
+                URI.create(tokenUrl), URI.create(userInfoUrl), Duration.ofMillis(readTimeoutMillis),
+                clientId, clientSecret, redirectUrl);
+    }
+
+    GoogleOAuthClient(HttpClient httpClient, URI tokenUri, URI userInfoUri, Duration readTimeout,
+                      String clientId, String clientSecret, String redirectUri) {
+        this.httpClient = httpClient;
+        this.tokenUri = tokenUri;
+        this.userInfoUri = userInfoUri;
+        this.readTimeout = readTimeout;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.redirectUri = redirectUri;
+    }
+
+    /**
+     * 인가 코드를 구글 엑세스 토큰으로 교환하는 메서드
+     */
+    public CompletableFuture<String> requestAccessToken(String code) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("code", code);
+        params.put("scope", SCOPE);
+        params.put("client_id", clientId);
+        params.put("client_secret", clientSecret);
+        params.put("redirect_uri", redirectUri);
+        params.put("grant_type", "authorization_code");
+
+        HttpRequest request = HttpRequest.newBuilder(tokenUri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(toFormBody(params)))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (!isSuccessful(response)) {
+                        throw new RuntimeException("구글 엑세스 토큰을 가져오는데 실패했습니다.");
+                    }
+
+                    return gson.fromJson(response.body(), TokenDto.class)
+                            .getAccessToken();
+                });
+    }
+
+    /**
+     * 구글 엑세스 토큰으로 회원 정보를 조회하는 메서드
+     */
+    public CompletableFuture<MemberInfoDto> requestUserInfo(String accessToken) {
+        HttpRequest request = HttpRequest.newBuilder(userInfoUri)
+                .timeout(readTimeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (!isSuccessful(response)) {
+                        throw new RuntimeException("유저 정보를 가져오는데 실패했습니다.");
+                    }
+
+                    return gson.fromJson(response.body(), MemberInfoDto.class);
+                });
+    }
+
+    private static boolean isSuccessful(HttpResponse<String> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static String toFormBody(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
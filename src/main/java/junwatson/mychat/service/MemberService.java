@@ -1,48 +1,55 @@
 package junwatson.mychat.service;
 
+import io.jsonwebtoken.Claims;
 import junwatson.mychat.domain.*;
 import junwatson.mychat.domain.type.MemberAuthorizationType;
+import junwatson.mychat.domain.type.MemberRole;
 import junwatson.mychat.dto.request.*;
 import junwatson.mychat.dto.response.MemberInfoResponseDto;
+import junwatson.mychat.dto.response.MemberSearchResponseDto;
 import junwatson.mychat.dto.response.ReissueAccessTokenResponseDto;
 import junwatson.mychat.dto.response.TokenDto;
 import junwatson.mychat.exception.*;
 import junwatson.mychat.jwt.TokenProvider;
 import junwatson.mychat.repository.ChatRoomRepository;
 import junwatson.mychat.repository.MemberRepository;
+import junwatson.mychat.repository.cache.MemberSnapshotCache;
+import junwatson.mychat.repository.cache.SocialGraphIndex;
+import junwatson.mychat.repository.condition.MemberCursor;
 import junwatson.mychat.repository.condition.MemberSearchCondition;
 import junwatson.mychat.repository.dao.*;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static junwatson.mychat.jwt.TokenConstant.ROLE_CLAIM;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
-@Slf4j
 public class MemberService {
 
-    private final HashSet<Character> allowedWords = new HashSet<>(Set.of('!', '@', '#', '$', '%', '^', '&', '~', '.', '_'));
+    private static final Set<Character> ALLOWED_WORDS = Set.of('!', '@', '#', '$', '%', '^', '&', '~', '.', '_');
     private final TokenProvider tokenProvider;
     private final MemberRepository memberRepository;
     private final ChatRoomRepository chatRoomRepository;
-    private final ChatDao chatDao;
     private final BlacklistDao blacklistDao;
     private final RefreshTokenDao refreshTokenDao;
     private final FriendshipDao friendshipDao;
     private final FriendshipRequestDao friendshipRequestDao;
     private final MemberChatRoomDao memberChatRoomDao;
+    private final MemberSnapshotCache memberSnapshotCache;
+    private final SocialGraphIndex socialGraphIndex;
+    private final MemberWithdrawalJob memberWithdrawalJob;
 
     public TokenDto signUp(MemberSignUpRequestDto requestDto) {
-        log.info("MemberService.signUp() called");
-
         Member member = requestDto.toEntity();
 
         // 유효성 검사
@@ -53,7 +60,7 @@ public class MemberService {
         // 회원가입
         memberRepository.save(member);
         String accessTokenString = tokenProvider.createAccessToken(member);
-        String refreshTokenString = refreshTokenDao.createRefreshToken(member).getToken();
+        String refreshTokenString = refreshTokenDao.createRefreshToken(member);
 
         return TokenDto.builder()
                 .accessToken(accessTokenString)
@@ -62,8 +69,6 @@ public class MemberService {
     }
 
     public TokenDto signIn(MemberSignInRequestDto requestDto) {
-        log.info("MemberService.signIn() called");
-
         String email = requestDto.getEmail();
         String password = requestDto.getPassword();
 
@@ -79,7 +84,7 @@ public class MemberService {
 
         // 토큰 발급
         String accessTokenString = tokenProvider.createAccessToken(member);
-        String refreshTokenString = refreshTokenDao.createRefreshToken(member).getToken();
+        String refreshTokenString = refreshTokenDao.createRefreshToken(member);
 
         return TokenDto.builder()
                 .accessToken(accessTokenString)
@@ -88,36 +93,34 @@ public class MemberService {
     }
 
     public void logout(Member member) {
-        log.info("MemberService.logout() called");
-
-        refreshTokenDao.removeRefreshToken(member);
+        refreshTokenDao.removeAllRefreshTokens(member);
+        memberSnapshotCache.evict(member.getId());
     }
 
     public MemberInfoResponseDto integrate(Member member, MemberIntegrationRequestDto requestDto) {
-        log.info("MemberService.integrate() called");
-
         memberRepository.updatePassword(member, requestDto.getPassword());
 
         return MemberInfoResponseDto.from(member);
     }
 
+    /**
+     * 회원을 탈퇴 처리 중으로 표시하고, 관련 데이터의 정리와 회원 삭제는 백그라운드 작업에 맡기는 메서드<br>
+     * 요청 트랜잭션에서는 회원 행과 리프레시 토큰만 변경하므로, 친구나 채팅이 많은 회원이라도 잠금을 오래 잡지 않는다
+     */
     public MemberInfoResponseDto withdrawMembership(Member member) {
-        log.info("MemberService.withdrawMembership() called");
-
-        // 관련 정보를 전부 삭제
-        friendshipDao.removeAllFriendships(member);
-        chatRoomRepository.leaveAllChatRooms(member);
-        chatDao.removeAllChats(member);
+        // 탈퇴 처리 중인 회원은 조회되지 않으므로, 이후의 요청은 인증되지 않음
+        memberRepository.withdraw(member);
+        refreshTokenDao.removeAllRefreshTokens(member);
+        memberSnapshotCache.evict(member.getId());
+        socialGraphIndex.evict(member.getId());
 
-        // 회원을 삭제
-        Member deletedMember = memberRepository.delete(member);
+        // 커밋 이후 관련 정보를 나누어 정리한 뒤 회원을 삭제
+        memberWithdrawalJob.schedule(member.getId());
 
-        return MemberInfoResponseDto.from(deletedMember);
+        return MemberInfoResponseDto.from(member);
     }
 
     public MemberInfoResponseDto updateMember(Member member, MemberModificationRequestDto requestDto) {
-        log.info("MemberService.updateMember()");
-
         String email = requestDto.getEmail();
         String password = requestDto.getPassword();
         String name = requestDto.getName();
@@ -137,7 +140,7 @@ public class MemberService {
             if (member.getAuthorizedBy() == MemberAuthorizationType.GOOGLE) {
                 throw new IllegalMemberStateException("구글을 통해 회원가입한 회원은 이메일을 수정할 수 없습니다.");
             }
-            if (isIllegalString(email) || memberRepository.findByEmail(email).isPresent()) {
+            if (isIllegalString(email) || memberRepository.existsByEmail(email)) {
                 throw new IllegalArgumentException("형식이 부적절하거나 이미 사용되고 있는 이메일입니다.");
             }
             memberRepository.updateEmail(member, email);
@@ -157,38 +160,53 @@ public class MemberService {
         if (StringUtils.hasText(profileUrl)) {
             memberRepository.updateProfileUrl(member, profileUrl);
         }
+        memberSnapshotCache.evict(member.getId());
 
         return MemberInfoResponseDto.from(member);
     }
 
     @Transactional(readOnly = true)
     public Member findById(Long memberId) {
-        log.info("MemberService.findById() called");
-
         return memberRepository.findById(memberId)
                 .orElseThrow(() -> new MemberNotExistsException("해당 ID를 지닌 회원이 존재하지 않습니다."));
     }
 
-    @Transactional(readOnly = true)
-    public ReissueAccessTokenResponseDto reissueAccessToken(String refreshTokenString) {
-        log.info("MemberService.reissueAccessToken() called");
+    /**
+     * 조회 전용 요청에서 요청한 회원을 식별하기 위한 메서드<br>
+     * 캐시된 값이 있다면 member 테이블을 조회하지 않는다<br>
+     * 트랜잭션을 시작하면 캐시된 값을 반환할 때에도 커넥션을 얻으므로, 트랜잭션 없이 실행하고 캐시에 없을 때만 조회 트랜잭션을 사용한다
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MemberSnapshot findSnapshotById(Long memberId) {
+        return memberSnapshotCache.get(memberId, memberRepository::findSnapshotById)
+                .orElseThrow(() -> new MemberNotExistsException("해당 ID를 지닌 회원이 존재하지 않습니다."));
+    }
 
+    /**
+     * 리프레시 토큰으로 엑세스 토큰을 재발급하는 메서드<br>
+     * 회원 엔티티를 불러오지 않고 토큰 해시로 기존 리프레시 토큰을 폐기한 뒤, 새 리프레시 토큰을 함께 발급한다<br>
+     * 토큰을 삭제하고 저장하므로 읽기 전용 트랜잭션으로 실행하면 안 된다
+     */
+    public ReissueAccessTokenResponseDto reissueAccessToken(String refreshTokenString) {
         // 유효성 검사
-        Member member = memberRepository.findById(Long.parseLong(tokenProvider.parseClaims(refreshTokenString).getSubject()))
-                .orElseThrow(() -> new MemberNotExistsException("해당 토큰으로 회원을 조회할 수 없습니다."));
-        if (!refreshTokenDao.isValidateRefreshToken(member, refreshTokenString)) {
+        Claims claims = tokenProvider.findRefreshClaims(refreshTokenString)
+                .orElseThrow(() -> new IllegalRefreshTokenException("부적절한 리프레시 토큰입니다."));
+        Long memberId = Long.parseLong(claims.getSubject());
+        MemberRole role = MemberRole.valueOf(claims.get(ROLE_CLAIM, String.class));
+
+        // 이미 사용되었거나 폐기된 토큰이라면 재발급하지 않음
+        if (!refreshTokenDao.revokeRefreshToken(memberId, refreshTokenString)) {
             throw new IllegalRefreshTokenException("부적절한 리프레시 토큰입니다.");
         }
 
-        // 엑세스 토큰 생성
-        String accessTokenString = tokenProvider.createAccessToken(member);
+        // 엑세스 토큰과 리프레시 토큰 생성
+        String accessTokenString = tokenProvider.createAccessToken(memberId, role);
+        String newRefreshTokenString = refreshTokenDao.createRefreshToken(memberId, role);
 
-        return ReissueAccessTokenResponseDto.from(accessTokenString);
+        return ReissueAccessTokenResponseDto.of(accessTokenString, newRefreshTokenString);
     }
 
     public MemberInfoResponseDto createFriendshipRequest(Member member, MemberInfoRequestDto requestDto) {
-        log.info("MemberService.createFriendship() called");
-
         String friendEmail = requestDto.getEmail();
 
         // 유효성 검사
@@ -218,8 +236,6 @@ public class MemberService {
     }
 
     public MemberInfoResponseDto removeFriendship(Member member, MemberInfoRequestDto requestDto) {
-        log.info("MemberService.removeFriendship() called");
-
         String email = requestDto.getEmail();
 
         // 유효성 검사
@@ -233,8 +249,6 @@ public class MemberService {
     }
 
     public void rejectFriendshipRequest(Member member, MemberInfoRequestDto requestDto) {
-        log.info("MemberService.rejectFriendshipRequest()");
-
         // 유효성 검사
         Member friend = memberRepository.findByEmail(requestDto.getEmail())
                 .orElseThrow(() -> new MemberNotExistsException("해당 회원이 존재하지 않습니다."));
@@ -247,8 +261,6 @@ public class MemberService {
     }
 
     public List<MemberInfoResponseDto> findAllFriends(Member member) {
-        log.info("MemberService.findAllFriends() called");
-
         // 조건 없이 모든 친구 조회
         List<Friendship> friendships = friendshipDao.searchFriendships(member, MemberSearchCondition.noCondition());
 
@@ -259,8 +271,6 @@ public class MemberService {
     }
 
     public List<MemberInfoResponseDto> findMembersInChatRoom(Member requestMember, ChatRoomInfoRequestDto requestDto) {
-        log.info("MemberService.findMembersInChatRoom() called");
-
         // 유효성 검사
         ChatRoom chatRoom = chatRoomRepository.findById(requestDto.getId())
                 .orElseThrow(() -> new ChatRoomNotExistsException("해당 채팅방이 존재하지 않습니다."));
@@ -282,8 +292,6 @@ public class MemberService {
     }
 
     public List<MemberInfoResponseDto> searchFriendsByCondition(Member member, MemberSearchRequestDto requestDto) {
-        log.info("MemberService.searchFriendsByCondition() called");
-
         // 조건에 부합하는 친구 검색
         List<Friendship> friendships = friendshipDao.searchFriendships(member, requestDto.toCondition());
 
@@ -293,9 +301,7 @@ public class MemberService {
                 .toList();
     }
 
-    public List<MemberInfoResponseDto> searchMembersByCondition(Member member, MemberSearchRequestDto requestDto) {
-        log.info("MemberService.searchMembersByCondition() called");
-
+    public MemberSearchResponseDto searchMembersByCondition(Member member, MemberSearchRequestDto requestDto) {
         MemberSearchCondition condition = requestDto.toCondition();
 
         // 유효성 검사(전체 회원은 조건 없이 검색하지 못하도록 함)
@@ -303,17 +309,21 @@ public class MemberService {
             throw new IllegalSearchConditionException("조건 없이 검색할 수 없습니다.");
         }
 
-        // 조건에 부합하는 회원 검색
+        // 요청한 크기보다 1개 더 조회되었다면 다음 회원이 남아 있는 것이므로, 마지막 회원을 다음 커서로 사용
         List<Member> members = memberRepository.searchMembers(member, condition);
+        MemberCursor nextCursor = null;
+        if (members.size() > condition.getSize()) {
+            members = members.subList(0, condition.getSize());
+            Member lastMember = members.getLast();
+            nextCursor = MemberCursor.of(condition.sortKeyOf(lastMember), lastMember.getId());
+        }
 
-        return members.stream()
+        return MemberSearchResponseDto.of(members.stream()
                 .map(MemberInfoResponseDto::from)
-                .toList();
+                .toList(), nextCursor);
     }
 
     public List<MemberInfoResponseDto> findSentFriendshipRequests(Member member) {
-        log.info("MemberService.findSentFriendshipRequests() called");
-
         // 보낸 친구 요청 조회
         List<FriendshipRequest> sentFriendshipRequests = member.getSentFriendshipRequests();
 
@@ -323,8 +333,6 @@ public class MemberService {
     }
 
     public List<MemberInfoResponseDto> findReceivedFriendshipRequests(Member member) {
-        log.info("MemberService.findReceivedFriendshipRequests() called");
-
         // 받은 친구 요청 조회
         List<FriendshipRequest> receivedFriendshipRequests = member.getReceivedFriendshipRequests();
 
@@ -334,8 +342,6 @@ public class MemberService {
     }
 
     public MemberInfoResponseDto addBlacklist(Member member, MemberInfoRequestDto requestDto) {
-        log.info("MemberService.addBlacklist() called");
-
         String targetEmail = requestDto.getEmail();
 
         // 유효성 감사
@@ -347,8 +353,6 @@ public class MemberService {
 
         // 차단 데이터 생성
         Blacklist blacklist = blacklistDao.createBlacklist(member, target);
-        member.getBlacklists().add(blacklist);
-        target.getBlockedLists().add(blacklist);
 
         // 만약 기존에 친구 관계였다면, 친구 관계를 삭제함
         if (friendshipDao.areFriends(member, target)) {
@@ -364,8 +368,6 @@ public class MemberService {
     }
 
     public MemberInfoResponseDto removeBlacklist(Member member, MemberInfoRequestDto requestDto) {
-        log.info("MemberService.removeBlacklist() called");
-
         String targetEmail = requestDto.getEmail();
 
         // 유효성 검사
@@ -382,17 +384,10 @@ public class MemberService {
      * 해당 정보로 회원가입이 가능한지 여부를 반환하는 메서드
      */
     private boolean validate(Member member) {
-        log.info("MemberService.validate() called");
-
         String email = member.getEmail();
         String password = member.getPassword();
         String name = member.getName();
 
-        // 이미 사용중인 이메일이라면 false 반환
-        if (memberRepository.findByEmail(email).isPresent()) {
-            return false;
-        }
-
         // 비어있는 값이 있다면 false 반환
         if (!StringUtils.hasText(email) ||
                 !StringUtils.hasText(password) ||
@@ -400,6 +395,11 @@ public class MemberService {
             return false;
         }
 
+        // 이미 사용중인 이메일이라면 false 반환(탈퇴 처리 중인 회원의 이메일 포함)
+        if (memberRepository.existsByEmail(email)) {
+            return false;
+        }
+
         // 이메일 혹은 비밀번호에 허용하지 않은 단어가 들어갔다면 false 반환
         if (isIllegalString(email) || isIllegalString(password)) {
             return false;
@@ -411,15 +411,13 @@ public class MemberService {
     /**
      * 파라미터로 전달된 문자열에, 허용되지 않은 문자가 포함되어 있는지 여부를 반환하는 메서드
      */
-    private boolean isIllegalString(String string) {
-        log.info("MemberService.isIllegalString() called");
-
+    static boolean isIllegalString(String string) {
         for (int i = 0; i < string.length(); i++) {
             char word = string.charAt(i);
             if (Character.isAlphabetic(word) || Character.isDigit(word)) {
                 continue;
             }
-            if (!allowedWords.contains(word)) {
+            if (!ALLOWED_WORDS.contains(word)) {
                 return true;
             }
         }
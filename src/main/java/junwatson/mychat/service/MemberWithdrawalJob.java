@@ -0,0 +1,302 @@
+package junwatson.mychat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.repository.ChatRoomRepository;
+import junwatson.mychat.repository.MemberRepository;
+import junwatson.mychat.repository.cache.MemberSnapshotCache;
+import junwatson.mychat.repository.cache.SocialGraphIndex;
+import junwatson.mychat.repository.dao.*;
+import junwatson.mychat.service.WithdrawalProgress.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * 탈퇴 처리 중으로 표시된 회원의 데이터를 백그라운드에서 정리한 뒤 회원을 삭제하는 작업<br>
+ * 친구 관계, 친구 요청, 차단 정보, 채팅방 참여 정보, 작성한 채팅을 순서대로 chunk-size개씩 한 번의 쿼리로 정리하며,
+ * 각 묶음을 별도의 트랜잭션으로 커밋해 한 번에 오래 잠금을 잡지 않는다<br>
+ * 작업이 중단되거나 실패하더라도 회원은 탈퇴 처리 중으로 남아 있으므로, 주기적으로 다시 예약해 이어서 처리한다<br>
+ * 모든 서버가 재시도를 예약하므로, 작업을 시작하기 전에 DB에서 작업을 맡고 묶음마다 갱신하여 한 서버만 처리하도록 한다<br>
+ * 단계별 작업 수와 정리된 행의 수, 실패 횟수는 member.withdrawal.* 메트릭으로 노출한다
+ */
+@Component
+@Slf4j
+public class MemberWithdrawalJob {
+
+    private final int chunkSize;
+    private final Duration claimTimeout;
+    private final String owner = UUID.randomUUID().toString(); // 작업을 맡은 서버를 구분하기 위한 값으로, 실행할 때마다 새로 생성됨
+    private final TransactionTemplate transactionTemplate;
+    private final MemberRepository memberRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatDao chatDao;
+    private final BlacklistDao blacklistDao;
+    private final RefreshTokenDao refreshTokenDao;
+    private final FriendshipDao friendshipDao;
+    private final FriendshipRequestDao friendshipRequestDao;
+    private final MemberChatRoomDao memberChatRoomDao;
+    private final MemberSnapshotCache memberSnapshotCache;
+    private final SocialGraphIndex socialGraphIndex;
+    private final Map<Long, WithdrawalProgress> progresses = new ConcurrentHashMap<>();
+    private final Map<Stage, Counter> processedRows = new EnumMap<>(Stage.class);
+    private final Counter failures;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-withdrawal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberWithdrawalJob(
+            @Value("${member.withdrawal.chunk-size:500}") int chunkSize,
+            @Value("${member.withdrawal.claim-timeout-millis:300000}") long claimTimeoutMillis,
+            PlatformTransactionManager transactionManager,
+            MemberRepository memberRepository,
+            ChatRoomRepository chatRoomRepository,
+            ChatDao chatDao,
+            BlacklistDao blacklistDao,
+            RefreshTokenDao refreshTokenDao,
+            FriendshipDao friendshipDao,
+            FriendshipRequestDao friendshipRequestDao,
+            MemberChatRoomDao memberChatRoomDao,
+            MemberSnapshotCache memberSnapshotCache,
+            SocialGraphIndex socialGraphIndex,
+            MeterRegistry registry) {
+
+        if (chunkSize <= 0 || claimTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("chunk-size와 claim-timeout-millis는 양수여야 합니다.");
+        }
+        this.chunkSize = chunkSize;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.memberRepository = memberRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatDao = chatDao;
+        this.blacklistDao = blacklistDao;
+        this.refreshTokenDao = refreshTokenDao;
+        this.friendshipDao = friendshipDao;
+        this.friendshipRequestDao = friendshipRequestDao;
+        this.memberChatRoomDao = memberChatRoomDao;
+        this.memberSnapshotCache = memberSnapshotCache;
+        this.socialGraphIndex = socialGraphIndex;
+
+        for (Stage stage : Stage.values()) {
+            if (stage == Stage.COMPLETED) {
+                continue;
+            }
+
+            String tag = stage.name().toLowerCase();
+            Gauge.builder("member.withdrawal.jobs", progresses, values -> countJobs(values, stage))
+                    .description("단계별로 진행 중인 회원 탈퇴 작업 수")
+                    .tag("stage", tag)
+                    .register(registry);
+            if (stage == Stage.WAITING) {
+                continue;
+            }
+            processedRows.put(stage, Counter.builder("member.withdrawal.rows")
+                    .description("회원 탈퇴 작업이 단계별로 정리한 행의 수")
+                    .baseUnit("rows")
+                    .tag("stage", tag)
+                    .register(registry));
+        }
+        this.failures = Counter.builder("member.withdrawal.failures")
+                .description("실패한 회원 탈퇴 작업 수")
+                .register(registry);
+    }
+
+    /**
+     * 회원의 탈퇴 작업을 예약하는 메서드<br>
+     * 탈퇴 처리 중 표시가 커밋되어야 작업이 회원을 찾을 수 있으므로, 트랜잭션 안에서 호출되면 커밋 이후에 작업을 시작한다
+     */
+    public void schedule(Long memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(memberId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(memberId);
+            }
+        });
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 탈퇴 작업을 다시 예약하는 메서드
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        resubmitWithdrawnMembers();
+    }
+
+    /**
+     * 실패한 탈퇴 작업을 주기적으로 다시 예약하는 메서드<br>
+     * 작업이 진행 중인 회원은 건너뛰므로, 탈퇴 처리 중이지만 실행 중인 작업이 없는 회원만 다시 처리된다<br>
+     * 다른 서버가 맡아 갱신 중인 작업은 process에서 맡지 못하므로 처리되지 않는다
+     */
+    @Scheduled(fixedDelayString = "${member.withdrawal.retry-interval-millis:60000}",
+            initialDelayString = "${member.withdrawal.retry-interval-millis:60000}")
+    public void retry() {
+        resubmitWithdrawnMembers();
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 진행 중인 작업은 다음 묶음으로 넘어가기 전에 멈추고, 다음 실행 시 이어서 처리함
+        executor.shutdownNow();
+    }
+
+    /**
+     * 탈퇴 작업을 현재 스레드에서 끝까지 처리하는 메서드<br>
+     * 각 단계는 정리할 행이 남지 않을 때까지 묶음 단위로 반복되며, 모든 단계가 끝나면 회원을 삭제한다<br>
+     * 다른 서버가 이미 맡은 작업이라면 처리하지 않고 반환한다
+     */
+    WithdrawalProgress process(Long memberId) {
+        WithdrawalProgress progress = progresses.computeIfAbsent(memberId, WithdrawalProgress::new);
+        LocalDateTime staleBefore = LocalDateTime.now().minus(claimTimeout);
+        Boolean claimed = transactionTemplate.execute(status -> memberRepository.claimWithdrawal(memberId, owner, staleBefore));
+        if (!Boolean.TRUE.equals(claimed)) {
+            // 이미 삭제되었거나, 탈퇴 처리 중이 아니거나, 다른 서버가 처리 중인 회원
+            progresses.remove(memberId);
+            return progress;
+        }
+
+        String memberName = transactionTemplate.execute(status -> memberRepository.findWithdrawnMember(memberId)
+                .map(Member::getName)
+                .orElse(null));
+        if (memberName == null) {
+            // 이미 삭제되었거나 탈퇴 처리 중이 아닌 회원
+            progresses.remove(memberId);
+            return progress;
+        }
+
+        String leaveMessage = memberName + "님이 채팅방에서 나갔습니다";
+        boolean finished = runStage(progress, Stage.FRIENDSHIPS, () -> friendshipDao.removeFriendships(memberId, chunkSize))
+                && runStage(progress, Stage.FRIENDSHIP_REQUESTS, () -> friendshipRequestDao.removeFriendshipRequests(memberId, chunkSize))
+                && runStage(progress, Stage.BLACKLISTS, () -> blacklistDao.removeBlacklists(memberId, chunkSize))
+                && runStage(progress, Stage.CHAT_ROOMS, () -> leaveChatRooms(memberId, leaveMessage))
+                && runStage(progress, Stage.CHATS, () -> chatDao.anonymizeChats(memberId, chunkSize));
+        if (!finished) {
+            return progress;
+        }
+
+        // 작업 도중 발급된 토큰이 없도록 한 번 더 정리한 뒤 회원을 삭제
+        transactionTemplate.executeWithoutResult(status -> {
+            refreshTokenDao.removeAllRefreshTokens(memberId);
+            memberRepository.deleteWithdrawnMember(memberId);
+        });
+        memberSnapshotCache.evict(memberId);
+        socialGraphIndex.evict(memberId);
+
+        progress.complete();
+        progresses.remove(memberId);
+        log.info("Member {} withdrawn: {} friendships, {} friendship requests, {} blacklists, {} chat rooms, {} chats", memberId,
+                progress.getProcessedCount(Stage.FRIENDSHIPS), progress.getProcessedCount(Stage.FRIENDSHIP_REQUESTS),
+                progress.getProcessedCount(Stage.BLACKLISTS), progress.getProcessedCount(Stage.CHAT_ROOMS),
+                progress.getProcessedCount(Stage.CHATS));
+
+        return progress;
+    }
+
+    private void submit(Long memberId) {
+        // 이미 예약된 회원이라면 중복해서 처리하지 않음
+        if (progresses.putIfAbsent(memberId, new WithdrawalProgress(memberId)) != null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                process(memberId);
+            } catch (Exception e) {
+                // 회원은 탈퇴 처리 중으로 남아 있으므로, 다음 재시도 때 이어서 처리함
+                log.error("Failed to withdraw member {}", memberId, e);
+                failures.increment();
+                progresses.remove(memberId);
+            }
+        });
+    }
+
+    private void resubmitWithdrawnMembers() {
+        List<Long> memberIds = transactionTemplate.execute(status -> memberRepository.findWithdrawnMemberIds());
+        if (memberIds == null) {
+            return;
+        }
+
+        List<Long> idleMemberIds = memberIds.stream()
+                .filter(memberId -> !progresses.containsKey(memberId))
+                .toList();
+        if (idleMemberIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Resuming withdrawal of {} members", idleMemberIds.size());
+        idleMemberIds.forEach(this::submit);
+    }
+
+    private static double countJobs(Map<Long, WithdrawalProgress> progresses, Stage stage) {
+        return progresses.values().stream()
+                .filter(progress -> progress.getStage() == stage)
+                .count();
+    }
+
+    /**
+     * 한 단계를 묶음 단위로 반복하는 메서드로, 종료 요청을 받아 단계를 끝내지 못했다면 false를 반환한다
+     */
+    private boolean runStage(WithdrawalProgress progress, Stage stage, LongSupplier chunk) {
+        progress.start(stage);
+
+        long processed;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            // 묶음마다 맡은 시각을 갱신하며, 갱신이 늦어져 다른 서버가 작업을 가져갔다면 더 처리하지 않음
+            Boolean renewed = transactionTemplate.execute(status -> memberRepository.renewWithdrawalClaim(progress.getMemberId(), owner));
+            if (!Boolean.TRUE.equals(renewed)) {
+                log.warn("Withdrawal of member {} was claimed by another server", progress.getMemberId());
+                return false;
+            }
+
+            processed = transactionTemplate.execute(status -> chunk.getAsLong());
+            progress.add(stage, processed);
+            processedRows.get(stage).increment(processed);
+        } while (processed > 0);
+
+        return true;
+    }
+
+    /**
+     * 회원을 최대 chunk-size개의 채팅방에서 내보내고 나간 채팅방의 수를 반환하는 메서드<br>
+     * 비어 있게 된 채팅방은 삭제하고, 회원이 남아 있는 채팅방에는 시스템 채팅을 추가한다
+     */
+    private long leaveChatRooms(Long memberId, String leaveMessage) {
+        List<Long> chatRoomIds = memberChatRoomDao.removeMemberChatRooms(memberId, chunkSize);
+        Map<Long, Long> memberCounts = chatRoomRepository.removeChatRoomsIfEmpty(chatRoomIds);
+        chatDao.createSystemChats(memberCounts, leaveMessage);
+
+        return chatRoomIds.size();
+    }
+}
@@ -0,0 +1,50 @@
+package junwatson.mychat.service;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원 탈퇴 작업의 진행 상황으로, 현재 단계와 단계별로 정리된 행의 수를 보관한다<br>
+ * 작업 스레드가 갱신하고 다른 스레드가 조회하므로, 각 값은 스레드 간에 안전하게 공유된다
+ */
+public class WithdrawalProgress {
+
+    @Getter
+    private final Long memberId;
+    @Getter
+    private volatile Stage stage = Stage.WAITING;
+    private final Map<Stage, Long> processedCounts = new ConcurrentHashMap<>();
+
+    public WithdrawalProgress(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    public long getProcessedCount(Stage stage) {
+        return processedCounts.getOrDefault(stage, 0L);
+    }
+
+    public boolean isCompleted() {
+        return stage == Stage.COMPLETED;
+    }
+
+    void start(Stage stage) {
+        this.stage = stage;
+    }
+
+    void add(Stage stage, long count) {
+        processedCounts.merge(stage, count, Long::sum);
+    }
+
+    void complete() {
+        this.stage = Stage.COMPLETED;
+    }
+
+    /**
+     * 탈퇴 작업의 단계로, 회원을 참조하는 데이터를 정리한 뒤 마지막에 회원을 삭제한다
+     */
+    public enum Stage {
+        WAITING, FRIENDSHIPS, FRIENDSHIP_REQUESTS, BLACKLISTS, CHAT_ROOMS, CHATS, COMPLETED
+    }
+}
@@ -0,0 +1,51 @@
+package junwatson.mychat.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 단위로 추적 로그를 남길지 결정하는 클래스<br>
+ * 기본 샘플링 비율과, "METHOD /path=비율" 형식으로 지정한 엔드포인트별 비율을 사용한다
+ */
+@Component
+public class TraceSampler {
+
+    private static final String ENTRY_DELIMITER = ",";
+    private static final String RATE_DELIMITER = "=";
+
+    private final double defaultRate;
+    private final Map<String, Double> endpointRates = new HashMap<>();
+
+    public TraceSampler(@Value("${tracing.sample-rate}") double defaultRate,
+                        @Value("${tracing.endpoint-sample-rates:}") String endpointRates) {
+        this.defaultRate = defaultRate;
+
+        if (!StringUtils.hasText(endpointRates)) {
+            return;
+        }
+        for (String entry : endpointRates.split(ENTRY_DELIMITER)) {
+            String[] values = entry.split(RATE_DELIMITER);
+            if (values.length != 2) {
+                throw new IllegalArgumentException("부적절한 샘플링 설정입니다: " + entry);
+            }
+            this.endpointRates.put(values[0].trim(), Double.parseDouble(values[1].trim()));
+        }
+    }
+
+    /**
+     * 엔드포인트가 null이라면(HTTP 요청이 아닌 스레드라면) 기본 비율을 사용한다
+     */
+    public boolean isSampled(String endpoint) {
+        double rate = endpoint == null ? defaultRate : endpointRates.getOrDefault(endpoint, defaultRate);
+
+        if (rate <= 0) {
+            return false;
+        }
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
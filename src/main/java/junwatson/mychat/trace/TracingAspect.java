@@ -0,0 +1,111 @@
+package junwatson.mychat.trace;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 컨트롤러, 서비스, 리포지토리 계층과 TokenProvider의 메서드 진입과 종료를 소요 시간과 함께 DEBUG 레벨로 기록하는 Aspect<br>
+ * 샘플링 여부는 요청의 가장 바깥쪽 호출에서 한 번만 결정하며, 해당 요청 안의 호출은 모두 같은 결정을 따른다<br>
+ * DEBUG 레벨이 꺼져 있다면 메서드를 그대로 실행한다<br>
+ * @within은 메타 애너테이션을 따라가지 않으므로, @Controller를 포함하는 @RestController도 함께 지정한다
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TracingAspect {
+
+    private final TraceSampler sampler;
+    private final ThreadLocal<TraceContext> context = new ThreadLocal<>();
+
+    @Around("within(junwatson.mychat..*) && (" +
+            "@within(org.springframework.stereotype.Controller) || " +
+            "@within(org.springframework.web.bind.annotation.RestController) || " +
+            "@within(org.springframework.stereotype.Service) || " +
+            "@within(org.springframework.stereotype.Repository) || " +
+            "within(junwatson.mychat.jwt.TokenProvider))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!log.isDebugEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        TraceContext traceContext = context.get();
+        boolean outermost = traceContext == null;
+        if (outermost) {
+            traceContext = new TraceContext(sampler.isSampled(currentEndpoint()));
+            context.set(traceContext);
+        }
+
+        try {
+            if (!traceContext.isSampled()) {
+                return joinPoint.proceed();
+            }
+            return proceedWithTrace(joinPoint, traceContext);
+        } finally {
+            if (outermost) {
+                context.remove();
+            }
+        }
+    }
+
+    private Object proceedWithTrace(ProceedingJoinPoint joinPoint, TraceContext traceContext) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName() + "()";
+        int depth = traceContext.enter();
+        log.debug("[{}] {} called", depth, method);
+
+        long startTime = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            log.debug("[{}] {} returned in {}us", depth, method, (System.nanoTime() - startTime) / 1_000);
+            return result;
+        } catch (Throwable e) {
+            log.debug("[{}] {} threw {} in {}us", depth, method, e.getClass().getSimpleName(), (System.nanoTime() - startTime) / 1_000);
+            throw e;
+        } finally {
+            traceContext.exit();
+        }
+    }
+
+    /**
+     * 현재 스레드가 처리 중인 HTTP 요청의 "METHOD /path" 값을 반환하며, HTTP 요청이 아니라면 null을 반환한다
+     */
+    private String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletRequestAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = servletRequestAttributes.getRequest();
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+
+    private static class TraceContext {
+
+        private final boolean sampled;
+        private int depth;
+
+        private TraceContext(boolean sampled) {
+            this.sampled = sampled;
+        }
+
+        private boolean isSampled() {
+            return sampled;
+        }
+
+        private int enter() {
+            return ++depth;
+        }
+
+        private void exit() {
+            depth--;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- 채팅 검색(chat.search.index=fulltext)에 사용하는 ngram FULLTEXT 인덱스
+-- 첫 FULLTEXT 인덱스를 추가하면 테이블이 재구성되고, 생성이 끝날 때까지 채팅 저장(INSERT/UPDATE/DELETE)이 막힌다
+-- 따라서 서버 시작 시 자동으로 만들지 않으며, 점검 시간에 직접 실행하거나 pt-online-schema-change, gh-ost 같은 도구로 적용해야 한다
+alter table chat
+    add fulltext index chat_content_fulltext_index (content) with parser ngram,
+    algorithm = inplace, lock = shared;
@@ -0,0 +1,11 @@
+-- 회원 부분 일치 검색(member.search.infix-index=true)에 사용하는 ngram FULLTEXT 인덱스
+-- MATCH의 컬럼 목록은 인덱스의 컬럼 목록과 같아야 하므로, 컬럼마다 인덱스를 따로 만든다
+-- 첫 FULLTEXT 인덱스를 추가하면 테이블이 재구성되고, 생성이 끝날 때까지 회원 정보 저장이 막히므로
+-- 점검 시간에 직접 실행하거나 pt-online-schema-change, gh-ost 같은 도구로 적용해야 한다
+alter table member
+    add fulltext index member_email_fulltext_index (email) with parser ngram,
+    algorithm = inplace, lock = shared;
+
+alter table member
+    add fulltext index member_name_fulltext_index (name) with parser ngram,
+    algorithm = inplace, lock = shared;
@@ -0,0 +1,84 @@
+package junwatson.mychat.event;
+
+import junwatson.mychat.domain.type.ChatEventType;
+import junwatson.mychat.dto.response.ChatEventResponseDto;
+import junwatson.mychat.ingestion.ChatIngestionEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static junwatson.mychat.event.ChatEventListener.CHAT_ROOM_TOPIC_PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 채팅 이벤트가 트랜잭션이 커밋된 뒤에만 채팅방 토픽으로 전달되는지 확인하는 테스트<br>
+ * 실제 커밋과 롤백을 확인해야 하므로, 테스트 트랜잭션 없이 TransactionTemplate으로 트랜잭션을 직접 실행한다
+ */
+@SpringBootTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChatEventListenerTest {
+
+    private static final Long CHAT_ROOM_ID = 1L;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Test
+    @DisplayName("채팅 이벤트 전달: 커밋 이후에 전달")
+    void publish_afterCommit() {
+        // when: 트랜잭션 안에서 이벤트 발행
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(createEvent());
+
+            // then: 커밋 전에는 전달되지 않음
+            verifyNoInteractions(messagingTemplate);
+        });
+
+        // then: 커밋 후 채팅방 토픽으로 한 번 전달됨
+        verify(messagingTemplate, times(1))
+                .convertAndSend(eq(CHAT_ROOM_TOPIC_PREFIX + CHAT_ROOM_ID), any(ChatEventResponseDto.class));
+    }
+
+    @Test
+    @DisplayName("채팅 이벤트 전달: 롤백되면 전달하지 않음")
+    void publish_rollback() {
+        // when: 이벤트를 발행한 트랜잭션을 롤백
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(createEvent());
+            status.setRollbackOnly();
+        });
+
+        // then
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("채팅 이벤트 전달: 트랜잭션 밖에서 발행된 이벤트는 즉시 전달")
+    void publish_withoutTransaction() {
+        // when: 쓰기 지연 모드처럼 트랜잭션을 커밋한 뒤 이벤트 발행
+        eventPublisher.publishEvent(createEvent());
+
+        // then
+        verify(messagingTemplate, times(1))
+                .convertAndSend(eq(CHAT_ROOM_TOPIC_PREFIX + CHAT_ROOM_ID), any(ChatEventResponseDto.class));
+    }
+
+    private ChatEvent createEvent() {
+        ChatIngestionEntry entry = ChatIngestionEntry.of(1L, CHAT_ROOM_ID, "chat");
+        return ChatEvent.of(ChatEventType.CREATED, CHAT_ROOM_ID, entry.toResponseDto(0));
+    }
+}
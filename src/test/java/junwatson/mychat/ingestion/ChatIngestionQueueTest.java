@@ -0,0 +1,267 @@
+package junwatson.mychat.ingestion;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChatIngestionQueueTest {
+
+    @TempDir
+    Path directory;
+
+    private ChatIngestionQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException, IOException {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("배치: 배치가 가득 차면 linger 시간을 기다리지 않고 저장")
+    void collect_fullBatch() throws InterruptedException {
+        // given: 배치 크기는 2, linger 시간은 1분
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        queue = start(2, 60_000L, writer);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            queue.offer(ChatIngestionEntry.of(1L, 1L, "chat" + i));
+        }
+
+        // then: 가득 찬 배치 두 개가 바로 저장됨
+        await(() -> writer.storedCount() == 4);
+        assertThat(writer.batches).extracting(List::size).containsExactly(2, 2);
+    }
+
+    @Test
+    @DisplayName("배치: linger 시간 안에 들어온 채팅을 한 번에 저장")
+    void collect_linger() throws InterruptedException {
+        // given: 배치 크기는 100, linger 시간은 0.5초
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        queue = start(100, 500L, writer);
+
+        // when: linger 시간 안에 채팅 세 개를 추가
+        for (int i = 0; i < 3; i++) {
+            queue.offer(ChatIngestionEntry.of(1L, 1L, "chat" + i));
+        }
+
+        // then: 배치가 가득 차지 않아도 linger 시간이 지나면 한 번에 저장됨
+        await(() -> writer.storedCount() == 3);
+        assertThat(writer.batches).extracting(List::size).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("체크포인트: 모든 채팅이 저장되면 저널을 비움")
+    void drain_truncateJournal() throws InterruptedException, IOException {
+        // given
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        queue = start(10, 0L, writer);
+
+        // when
+        queue.offer(ChatIngestionEntry.of(1L, 1L, "chat"));
+        await(() -> writer.storedCount() == 1);
+        queue.stop();
+        queue = null;
+
+        // then
+        assertThat(Files.size(directory.resolve("chat.journal"))).isZero();
+        assertThat(Files.readString(directory.resolve("chat.checkpoint"))).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("복구: 시작 시 이전 실행에서 저장하지 못한 채팅을 저장")
+    void start_recover() throws InterruptedException, IOException {
+        // given: 저널에만 기록되고 DB에는 저장되지 않은 채 종료됨
+        ChatIngestionEntry first = ChatIngestionEntry.of(1L, 1L, "first");
+        ChatIngestionEntry second = ChatIngestionEntry.of(1L, 1L, "second");
+        ChatJournal journal = new ChatJournal(directory);
+        journal.append(first);
+        journal.sync(journal.append(second).getSequence());
+        journal.close();
+
+        // when
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        queue = start(10, 0L, writer);
+
+        // then: 기록된 순서대로 저장됨
+        await(() -> writer.storedCount() == 2);
+        assertThat(writer.storedIds()).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("dead-letter: 제약 조건을 위반한 채팅만 dead-letter 파일로 옮기고 나머지는 저장")
+    void writeOneByOne_deadLetter() throws InterruptedException, IOException {
+        // given: 특정 채팅이 포함된 배치는 외래 키 위반으로 실패함
+        ChatIngestionEntry poison = ChatIngestionEntry.of(1L, 1L, "poison");
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        writer.violatingIds = Set.of(poison.getId());
+        queue = start(10, 500L, writer);
+
+        // when
+        ChatIngestionEntry before = ChatIngestionEntry.of(1L, 1L, "before");
+        ChatIngestionEntry after = ChatIngestionEntry.of(1L, 1L, "after");
+        queue.offer(before);
+        queue.offer(poison);
+        queue.offer(after);
+
+        // then: 다시 시도하지 않고 바로 하나씩 저장하며, 실패한 채팅은 dead-letter 파일로 옮겨짐
+        await(() -> writer.storedCount() == 2);
+        assertThat(writer.storedIds()).containsExactly(before.getId(), after.getId());
+        assertThat(readDeadLetters()).singleElement().asString().contains(poison.getId().toString());
+    }
+
+    @Test
+    @DisplayName("dead-letter: 배치 저장이 MAX_ATTEMPTS번 실패하면 하나씩 저장")
+    void drain_maxAttempts() throws InterruptedException, IOException {
+        // given: 처음 세 번의 저장은 일시적인 오류로 실패함
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        writer.transientFailures.set(3);
+        queue = start(10, 500L, writer);
+
+        // when
+        queue.offer(ChatIngestionEntry.of(1L, 1L, "first"));
+        queue.offer(ChatIngestionEntry.of(1L, 1L, "second"));
+
+        // then: 세 번 실패한 뒤에는 하나씩 저장되며, 일시적인 오류였으므로 dead-letter 파일로 옮겨지지 않음
+        await(() -> writer.storedCount() == 2);
+        assertThat(writer.batches).extracting(List::size).containsExactly(1, 1);
+        assertThat(readDeadLetters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("중복: 재시작 전에 이미 저장된 같은 채팅은 넘어감")
+    void writeOneByOne_replay() throws InterruptedException, IOException {
+        // given: 이미 같은 채팅이 저장되어 있음
+        ChatIngestionEntry replayed = ChatIngestionEntry.of(1L, 1L, "replayed");
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        writer.duplicateIds = Set.of(replayed.getId());
+        writer.sameEntry = true;
+        queue = start(10, 0L, writer);
+
+        // when
+        queue.offer(replayed);
+
+        // then: dead-letter 파일로 옮기지 않고 체크포인트를 넘김
+        await(() -> writer.storedChecks.get() == 1);
+        queue.stop();
+        queue = null;
+        assertThat(readDeadLetters()).isEmpty();
+        assertThat(Files.size(directory.resolve("chat.journal"))).isZero();
+    }
+
+    @Test
+    @DisplayName("중복: 식별자가 겹친 다른 채팅은 dead-letter 파일로 옮김")
+    void writeOneByOne_collision() throws InterruptedException, IOException {
+        // given: 같은 식별자로 다른 채팅이 저장되어 있음
+        ChatIngestionEntry collided = ChatIngestionEntry.of(1L, 1L, "collided");
+        StubChatBatchWriter writer = new StubChatBatchWriter();
+        writer.duplicateIds = Set.of(collided.getId());
+        writer.sameEntry = false;
+        queue = start(10, 0L, writer);
+
+        // when
+        queue.offer(collided);
+
+        // then
+        await(() -> !readDeadLetters().isEmpty());
+        assertThat(readDeadLetters()).singleElement().asString().contains(collided.getId().toString());
+    }
+
+    private ChatIngestionQueue start(int maxBatchSize, long lingerMillis, ChatBatchWriter writer) {
+        ChatIngestionQueue ingestionQueue = new ChatIngestionQueue(true, maxBatchSize, lingerMillis, directory.toString(), writer);
+        try {
+            ingestionQueue.start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return ingestionQueue;
+    }
+
+    private List<String> readDeadLetters() {
+        Path path = directory.resolve("chat.dead-letter");
+        try {
+            return Files.exists(path) ? Files.readAllLines(path, StandardCharsets.UTF_8) : List.of();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("제한 시간 안에 조건을 만족하지 못했습니다.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * DB 대신 저장을 요청받은 배치를 기록하는 ChatBatchWriter<br>
+     * 특정 채팅이 포함된 배치나 처음 몇 번의 저장을 실패하도록 지정할 수 있다
+     */
+    private static class StubChatBatchWriter extends ChatBatchWriter {
+
+        private final List<List<ChatIngestionEntry>> batches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger transientFailures = new AtomicInteger();
+        private final AtomicInteger storedChecks = new AtomicInteger();
+        private volatile Set<Long> violatingIds = Set.of();
+        private volatile Set<Long> duplicateIds = Set.of();
+        private volatile boolean sameEntry;
+
+        StubChatBatchWriter() {
+            super(null, null);
+        }
+
+        @Override
+        public void write(List<ChatIngestionEntry> entries) {
+            if (transientFailures.getAndUpdate(count -> Math.max(count - 1, 0)) > 0) {
+                throw new TransientDataAccessResourceException("connection lost");
+            }
+            if (entries.stream().anyMatch(entry -> duplicateIds.contains(entry.getId()))) {
+                throw new DuplicateKeyException("duplicate id");
+            }
+            if (entries.stream().anyMatch(entry -> violatingIds.contains(entry.getId()))) {
+                throw new DataIntegrityViolationException("foreign key violation");
+            }
+            batches.add(List.copyOf(entries));
+        }
+
+        @Override
+        public boolean isStored(ChatIngestionEntry entry) {
+            storedChecks.incrementAndGet();
+            return sameEntry;
+        }
+
+        int storedCount() {
+            return batches.stream().mapToInt(List::size).sum();
+        }
+
+        List<Long> storedIds() {
+            return batches.stream()
+                    .flatMap(List::stream)
+                    .map(ChatIngestionEntry::getId)
+                    .toList();
+        }
+    }
+}
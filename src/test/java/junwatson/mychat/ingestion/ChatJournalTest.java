@@ -0,0 +1,160 @@
+package junwatson.mychat.ingestion;
+
+import junwatson.mychat.ingestion.ChatJournal.PendingEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.*;
+
+class ChatJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("복구: 비정상 종료 후 체크포인트 이후의 채팅만 복구")
+    void readUncommitted_afterCrash() throws IOException {
+        // given: 채팅 세 개를 기록하고 첫 번째 채팅까지만 DB에 저장한 상태에서 종료
+        ChatIngestionEntry first = ChatIngestionEntry.of(1L, 1L, "first");
+        ChatIngestionEntry second = ChatIngestionEntry.of(1L, 1L, "second");
+        ChatIngestionEntry third = ChatIngestionEntry.of(1L, 1L, "third");
+
+        ChatJournal journal = new ChatJournal(directory);
+        PendingEntry firstPending = journal.append(first);
+        journal.append(second);
+        PendingEntry thirdPending = journal.append(third);
+        journal.sync(thirdPending.getSequence());
+        journal.commit(firstPending.getPosition());
+        journal.close();
+
+        // when: 같은 디렉토리로 저널을 다시 엶
+        ChatJournal recovered = new ChatJournal(directory);
+        List<PendingEntry> uncommitted = recovered.readUncommitted();
+        recovered.close();
+
+        // then: 저장되지 않은 두 채팅이 기록된 순서대로 복구되며, 다시 sync할 필요가 없음
+        assertThat(uncommitted).extracting(pending -> pending.getEntry().getId())
+                .containsExactly(second.getId(), third.getId());
+        assertThat(uncommitted.getLast().getPosition()).isEqualTo(thirdPending.getPosition());
+        assertThat(uncommitted).allMatch(pending -> pending.getSequence() == 0);
+        assertThat(uncommitted.getFirst().getEntry().getContent()).isEqualTo("second");
+        assertThat(uncommitted.getFirst().getEntry().getInputDate()).isEqualTo(second.getInputDate());
+    }
+
+    @Test
+    @DisplayName("체크포인트: 모든 채팅이 저장되면 저널을 비우고 체크포인트를 0으로 기록")
+    void commit_truncate() throws IOException {
+        // given
+        ChatJournal journal = new ChatJournal(directory);
+        journal.append(ChatIngestionEntry.of(1L, 1L, "first"));
+        PendingEntry last = journal.append(ChatIngestionEntry.of(1L, 1L, "second"));
+        journal.sync(last.getSequence());
+
+        // when: 마지막 채팅까지 저장되었음을 기록
+        journal.commit(last.getPosition());
+
+        // then: 저널이 비워지고 체크포인트가 처음을 가리킴
+        assertThat(Files.size(directory.resolve("chat.journal"))).isZero();
+        assertThat(Files.readString(directory.resolve("chat.checkpoint"))).isEqualTo("0");
+
+        // then: 비운 뒤에 기록한 채팅은 처음부터 이어서 기록됨
+        ChatIngestionEntry next = ChatIngestionEntry.of(1L, 1L, "next");
+        journal.append(next);
+        journal.close();
+
+        ChatJournal recovered = new ChatJournal(directory);
+        assertThat(recovered.readUncommitted()).extracting(pending -> pending.getEntry().getId())
+                .containsExactly(next.getId());
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("체크포인트: 저널을 비운 직후 체크포인트를 기록하지 못했다면 처음부터 복구")
+    void readUncommitted_staleCheckpoint() throws IOException {
+        // given: 긴 채팅까지 저장되었다는 체크포인트가 남은 상태에서
+        ChatJournal journal = new ChatJournal(directory);
+        PendingEntry longChat = journal.append(ChatIngestionEntry.of(1L, 1L, "a".repeat(100)));
+        journal.sync(longChat.getSequence());
+        journal.commit(longChat.getPosition() - 1);
+        journal.close();
+
+        // given: 체크포인트를 기록하기 전에 저널만 비워진 뒤, 더 짧은 채팅이 기록됨
+        try (FileChannel channel = FileChannel.open(directory.resolve("chat.journal"), WRITE)) {
+            channel.truncate(0);
+        }
+        journal = new ChatJournal(directory);
+        ChatIngestionEntry shortChat = ChatIngestionEntry.of(1L, 1L, "b");
+        journal.sync(journal.append(shortChat).getSequence());
+        journal.close();
+
+        // when
+        ChatJournal recovered = new ChatJournal(directory);
+        List<PendingEntry> uncommitted = recovered.readUncommitted();
+        recovered.close();
+
+        // then: 체크포인트가 저널보다 크므로 무시하고 처음부터 읽음
+        assertThat(uncommitted).extracting(pending -> pending.getEntry().getId())
+                .containsExactly(shortChat.getId());
+    }
+
+    @Test
+    @DisplayName("그룹 커밋: 동시에 기록한 채팅이 모두 디스크에 반영됨")
+    void sync_concurrent() throws Exception {
+        // given
+        ChatJournal journal = new ChatJournal(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when: 여러 스레드가 동시에 기록하고 반영을 기다림
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String content = "chat" + i;
+            futures.add(executor.submit(() -> {
+                ChatIngestionEntry entry = ChatIngestionEntry.of(1L, 1L, content);
+                journal.sync(journal.append(entry).getSequence());
+                return entry.getId();
+            }));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get());
+        }
+        executor.shutdown();
+        journal.close();
+
+        // then: 모든 채팅이 저널에 남아 있음
+        ChatJournal recovered = new ChatJournal(directory);
+        assertThat(recovered.readUncommitted()).extracting(pending -> pending.getEntry().getId())
+                .containsExactlyInAnyOrderElementsOf(ids);
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("dead-letter: 저장할 수 없는 채팅을 별도의 파일에 기록")
+    void deadLetter_success() throws IOException {
+        // given
+        ChatJournal journal = new ChatJournal(directory);
+        ChatIngestionEntry entry = ChatIngestionEntry.of(1L, 1L, "poison");
+
+        // when
+        journal.deadLetter(entry);
+        journal.close();
+
+        // then
+        List<String> lines = Files.readAllLines(directory.resolve("chat.dead-letter"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.getFirst()).contains(entry.getId().toString(), "poison");
+    }
+}
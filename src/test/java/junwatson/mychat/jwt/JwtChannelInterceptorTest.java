@@ -0,0 +1,142 @@
+package junwatson.mychat.jwt;
+
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.dto.response.ChatRoomInfoResponseDto;
+import junwatson.mychat.service.ChatRoomService;
+import junwatson.mychat.util.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static junwatson.mychat.event.ChatEventListener.CHAT_ROOM_TOPIC_PREFIX;
+import static junwatson.mychat.jwt.TokenConstant.AUTHORIZATION;
+import static junwatson.mychat.jwt.TokenConstant.BEARER;
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class JwtChannelInterceptorTest {
+
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private TokenProvider tokenProvider;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private JwtChannelInterceptor interceptor;
+
+    @Test
+    @DisplayName("STOMP 연결: 엑세스 토큰으로 회원 인증 성공")
+    void connect_success() {
+        // given
+        Member member = utils.createTestMember();
+        Message<byte[]> message = connectMessage(BEARER + tokenProvider.createAccessToken(member));
+
+        // when
+        Message<?> result = interceptor.preSend(message, null);
+
+        // then: 연결한 회원이 메시지의 사용자로 지정됨
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+        assertThat(accessor.getUser()).isInstanceOf(Authentication.class);
+        assertThat(accessor.getUser().getName()).isEqualTo(member.getId().toString());
+    }
+
+    @Test
+    @DisplayName("STOMP 연결: 토큰이 없으면 거부")
+    void connect_noToken() {
+        // given
+        Message<byte[]> message = connectMessage(null);
+
+        // when & then
+        assertThatThrownBy(() -> interceptor.preSend(message, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("STOMP 연결: 부적절한 토큰이면 거부")
+    void connect_invalidToken() {
+        // given: 서명을 검증할 수 없는 토큰
+        Message<byte[]> message = connectMessage(BEARER + "invalid.access.token");
+
+        // when & then
+        assertThatThrownBy(() -> interceptor.preSend(message, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("채팅방 구독: 소속된 채팅방의 토픽 구독 성공")
+    void subscribe_success() {
+        // given: 회원 두 명의 채팅방 생성
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        Message<byte[]> message = subscribeMessage(members[1], CHAT_ROOM_TOPIC_PREFIX + chatRoom.getId());
+
+        // when & then
+        assertThatCode(() -> interceptor.preSend(message, null))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("채팅방 구독: 소속되지 않은 채팅방의 토픽 구독 거부")
+    void subscribe_otherRoom() {
+        // given: 다른 회원들의 채팅방 생성
+        Member[] members = utils.createTestMembers(3);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        Message<byte[]> message = subscribeMessage(members[2], CHAT_ROOM_TOPIC_PREFIX + chatRoom.getId());
+
+        // when & then
+        assertThatThrownBy(() -> interceptor.preSend(message, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("채팅방 구독: 인증되지 않았거나 채팅방 토픽이 아니면 거부")
+    void subscribe_illegalRequest() {
+        // given
+        Member member = utils.createTestMember();
+        Message<byte[]> anonymous = subscribeMessage(null, CHAT_ROOM_TOPIC_PREFIX + 1);
+        Message<byte[]> otherTopic = subscribeMessage(member, "/topic/other");
+        Message<byte[]> illegalRoomId = subscribeMessage(member, CHAT_ROOM_TOPIC_PREFIX + "abc");
+
+        // when & then
+        assertThatThrownBy(() -> interceptor.preSend(anonymous, null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(otherTopic, null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(illegalRoomId, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private Message<byte[]> connectMessage(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader(AUTHORIZATION, authorization);
+        }
+        accessor.setLeaveMutable(true);
+
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<byte[]> subscribeMessage(Member member, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        if (member != null) {
+            accessor.setUser(tokenProvider.getAuthentication(tokenProvider.createAccessToken(member)));
+        }
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,73 @@
+package junwatson.mychat.repository.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("추가 및 조회: 성공")
+    void add_success() {
+        // given
+        LongHashSet set = new LongHashSet(0);
+
+        // when: 같은 값을 두 번 추가
+        boolean first = set.add(7L);
+        boolean second = set.add(7L);
+
+        // then: 한 번만 저장됨
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(set.contains(7L)).isTrue();
+        assertThat(set.contains(8L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("추가: 양수가 아닌 값 예외")
+    void add_illegalValue() {
+        LongHashSet set = new LongHashSet(0);
+
+        assertThatThrownBy(() -> set.add(0L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> set.add(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("크기 확장: 초기 크기를 넘어 추가해도 모든 값 유지")
+    void add_resize() {
+        // given: 최소 크기로 생성
+        LongHashSet set = new LongHashSet(0);
+
+        // when: 여러 번 크기가 늘어나도록 추가
+        for (long value = 1; value <= 10_000; value++) {
+            set.add(value);
+        }
+
+        // then
+        assertThat(set.size()).isEqualTo(10_000);
+        for (long value = 1; value <= 10_000; value++) {
+            assertThat(set.contains(value)).isTrue();
+        }
+        assertThat(set.contains(10_001L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("생성: 컬렉션의 중복된 값은 한 번만 저장")
+    void of_duplicates() {
+        // when
+        LongHashSet set = LongHashSet.of(List.of(3L, 11L, 3L, 19L));
+
+        // then
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.contains(3L)).isTrue();
+        assertThat(set.contains(11L)).isTrue();
+        assertThat(set.contains(19L)).isTrue();
+        assertThat(set.contains(27L)).isFalse();
+    }
+}
@@ -0,0 +1,139 @@
+package junwatson.mychat.repository.cache;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.repository.dao.BlacklistDao;
+import junwatson.mychat.repository.dao.FriendshipDao;
+import junwatson.mychat.util.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class SocialGraphIndexTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private SocialGraphIndex socialGraphIndex;
+    @Autowired
+    private BlacklistDao blacklistDao;
+    @Autowired
+    private FriendshipDao friendshipDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("관계 확인: 같은 트랜잭션에서 변경한 관계가 바로 반영됨")
+    void contains_sameTransaction() {
+        // given: 관계가 없는 상태를 먼저 조회해 캐시에 올림
+        Member[] members = utils.createTestMembers(2);
+        assertThat(socialGraphIndex.hasBlocked(members[0].getId(), members[1].getId())).isFalse();
+
+        // when & then: 차단 후 바로 확인
+        blacklistDao.createBlacklist(members[0], members[1]);
+        assertThat(socialGraphIndex.hasBlocked(members[0].getId(), members[1].getId())).isTrue();
+        assertThat(socialGraphIndex.hasBlocked(members[1].getId(), members[0].getId())).isFalse();
+
+        // when & then: 차단 해제 후 바로 확인
+        blacklistDao.removeBlacklist(members[0], members[1]);
+        assertThat(socialGraphIndex.hasBlocked(members[0].getId(), members[1].getId())).isFalse();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("관계 확인: 커밋된 관계는 반영되고 롤백된 관계는 남지 않음")
+    void contains_commitAndRollback() {
+        // given: 회원 생성 및 관계가 없는 상태를 캐시에 올림
+        Member[] members = transactionTemplate.execute(status -> utils.createTestMembers(2));
+        Long memberId = members[0].getId();
+        Long targetId = members[1].getId();
+        assertThat(socialGraphIndex.areFriends(memberId, targetId)).isFalse();
+        assertThat(socialGraphIndex.hasBlocked(memberId, targetId)).isFalse();
+
+        try {
+            // when: 친구 관계는 커밋하고, 차단은 롤백함
+            transactionTemplate.executeWithoutResult(status ->
+                    friendshipDao.createFriendship(em.find(Member.class, memberId), em.find(Member.class, targetId)));
+            transactionTemplate.executeWithoutResult(status -> {
+                blacklistDao.createBlacklist(em.find(Member.class, memberId), em.find(Member.class, targetId));
+                status.setRollbackOnly();
+            });
+
+            // then
+            assertThat(socialGraphIndex.areFriends(memberId, targetId)).isTrue();
+            assertThat(socialGraphIndex.areFriends(targetId, memberId)).isTrue();
+            assertThat(socialGraphIndex.hasBlocked(memberId, targetId)).isFalse();
+        } finally {
+            cleanUp(memberId, targetId);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("관계 확인: 커밋 전 다른 트랜잭션이 불러온 이전 상태는 커밋 후 남지 않음")
+    void contains_staleLoadDuringTransaction() {
+        // given: 회원 생성
+        Member[] members = transactionTemplate.execute(status -> utils.createTestMembers(2));
+        Long memberId = members[0].getId();
+        Long targetId = members[1].getId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when: 차단을 DB에 반영했지만 커밋하기 전에, 다른 스레드가 관계를 조회해 캐시에 올림
+            transactionTemplate.executeWithoutResult(status -> {
+                blacklistDao.createBlacklist(em.find(Member.class, memberId), em.find(Member.class, targetId));
+                em.flush();
+
+                boolean blockedInOtherTransaction = submitAndWait(executor, () ->
+                        transactionTemplate.execute(otherStatus -> socialGraphIndex.hasBlocked(memberId, targetId)));
+                assertThat(blockedInOtherTransaction).isFalse();
+            });
+
+            // then: 커밋 후에는 캐시에 남은 이전 상태 대신 커밋된 관계를 반환
+            assertThat(submitAndWait(executor, () -> socialGraphIndex.hasBlocked(memberId, targetId))).isTrue();
+        } finally {
+            executor.shutdown();
+            cleanUp(memberId, targetId);
+        }
+    }
+
+    private <T> T submitAndWait(ExecutorService executor, Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 커밋된 관계와 회원을 직접 정리하는 메서드
+     */
+    private void cleanUp(Long... memberIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long memberId : memberIds) {
+                friendshipDao.removeFriendships(memberId, 100);
+                blacklistDao.removeBlacklists(memberId, 100);
+            }
+            for (Long memberId : memberIds) {
+                em.remove(em.find(Member.class, memberId));
+            }
+        });
+        for (Long memberId : memberIds) {
+            socialGraphIndex.evict(memberId);
+        }
+    }
+}
@@ -3,12 +3,18 @@ package junwatson.mychat.service;
 import jakarta.persistence.EntityManager;
 import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
+import junwatson.mychat.dto.request.ChatCreateRequestDto;
 import junwatson.mychat.dto.request.ChatRoomCreateRequestDto;
 import junwatson.mychat.dto.request.ChatRoomInfoRequestDto;
+import junwatson.mychat.dto.request.ChatRoomInviteRequestDto;
+import junwatson.mychat.dto.request.ChatRoomModificationRequestDto;
 import junwatson.mychat.dto.request.ChatRoomSearchRequestDto;
 import junwatson.mychat.dto.response.ChatRoomInfoResponseDto;
+import junwatson.mychat.dto.response.ChatRoomSummaryResponseDto;
 import junwatson.mychat.exception.BlockException;
 import junwatson.mychat.repository.ChatRoomRepository;
+import junwatson.mychat.repository.condition.MemberChatRoomSearchCondition;
+import junwatson.mychat.repository.projection.MemberSnapshot;
 import junwatson.mychat.util.TestUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +42,8 @@ class ChatRoomServiceTest {
     private MemberService memberService;
     @Autowired
     private ChatRoomRepository chatRoomRepository;
+    @Autowired
+    private ChatService chatService;
 
     @Test
     @DisplayName("채팅방 생성: 성공")
@@ -147,6 +155,24 @@ class ChatRoomServiceTest {
                 .isInstanceOf(BlockException.class);
     }
 
+    @Test
+    @DisplayName("채팅방 생성: 다수 회원 일괄 참여 성공")
+    void createChatRoom_bulk() {
+        // given: 회원 30명 생성
+        Member[] members = utils.createTestMembers(30);
+        List<Member> friends = List.of(members).subList(1, members.length);
+
+        // when: 영속성 컨텍스트를 비우지 않은 채 채팅방 생성
+        ChatRoomInfoResponseDto responseDto = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(friends));
+
+        // then: 이미 불러온 엔티티와 데이터베이스 모두에 모든 회원이 참여한 것으로 반영됨
+        ChatRoom chatRoom = chatRoomRepository.findById(responseDto.getId()).orElseThrow();
+        assertThat(chatRoom.getMemberChatRooms().size()).isEqualTo(30);
+        assertThat(members[0].getMemberChatRooms().size()).isEqualTo(1);
+        utils.clearEntityManager(em);
+        assertThat(chatRoomRepository.findById(responseDto.getId()).orElseThrow().getMemberChatRooms().size()).isEqualTo(30);
+    }
+
     @Test
     @DisplayName("채팅방 조회: 성공")
     void findChatRoom_success() {
@@ -160,12 +186,31 @@ class ChatRoomServiceTest {
         chatRoomService.createChatRoom(members[0], requestDto2);
 
         // then: 채팅방 조회 성공
-        assertThat(chatRoomService.findChatRooms(members[0]).size()).isEqualTo(2);
-        assertThat(chatRoomService.findChatRooms(members[1]).size()).isEqualTo(2);
-        assertThat(chatRoomService.findChatRooms(members[2]).size()).isEqualTo(2);
-        assertThat(chatRoomService.findChatRooms(members[3]).size()).isEqualTo(1);
-        assertThat(chatRoomService.findChatRooms(members[4]).size()).isEqualTo(1);
-        assertThat(chatRoomService.findChatRooms(members[5]).size()).isEqualTo(0);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[0])).size()).isEqualTo(2);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[1])).size()).isEqualTo(2);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[2])).size()).isEqualTo(2);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[3])).size()).isEqualTo(1);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[4])).size()).isEqualTo(1);
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[5])).size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("채팅방 조회: 마지막 활동 순 정렬")
+    void findChatRoom_orderByLastChat() {
+        // given: 회원 및 채팅방 2개 생성
+        Member[] members = utils.createTestMembers(3);
+        ChatRoomInfoResponseDto chatRoom1 = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        ChatRoomInfoResponseDto chatRoom2 = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[2])));
+
+        // when: 먼저 생성한 채팅방에 채팅 작성
+        chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoom1.getId(), "hello"));
+        List<ChatRoomSummaryResponseDto> chatRooms = chatRoomService.findChatRooms(MemberSnapshot.from(members[1]));
+
+        // then: 마지막 채팅과 읽지 않은 채팅 수가 함께 조회되고, 최근 활동한 채팅방이 먼저 조회됨
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[0])).getFirst().getId()).isEqualTo(chatRoom1.getId());
+        assertThat(chatRoomService.findChatRooms(MemberSnapshot.from(members[0])).getLast().getId()).isEqualTo(chatRoom2.getId());
+        assertThat(chatRooms.getFirst().getLastChatContent()).isEqualTo("hello");
+        assertThat(chatRooms.getFirst().getUnconfirmedCounter()).isGreaterThanOrEqualTo(1);
     }
 
     @Test
@@ -216,6 +261,71 @@ class ChatRoomServiceTest {
         assertThat(responseDto2.size()).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("채팅방 검색: 별명 우선 및 최근 활동 순 페이지 조회")
+    void searchChatRoom_aliasAndPaging() {
+        // given: 회원 및 채팅방 생성
+        Member[] members = utils.createTestMembers(4);
+        ChatRoomInfoResponseDto chatRoomA = chatRoomService.createChatRoom(members[0],
+                utils.createChatRoomCreateRequestDto(List.of(members[1]), "ChatRoomA", BASIC_PROFILE_URL));
+        ChatRoomInfoResponseDto chatRoomB = chatRoomService.createChatRoom(members[0],
+                utils.createChatRoomCreateRequestDto(List.of(members[2]), "ChatRoomB", BASIC_PROFILE_URL));
+        ChatRoomInfoResponseDto chatRoomC = chatRoomService.createChatRoom(members[0],
+                utils.createChatRoomCreateRequestDto(List.of(members[3]), "ChatRoomC", BASIC_PROFILE_URL));
+
+        // when: B에 별명을 지정하고, A에 가장 최근 채팅 작성
+        chatRoomService.modifyChatRoom(members[0], ChatRoomModificationRequestDto.builder()
+                .id(chatRoomB.getId())
+                .name("Other")
+                .build());
+        chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoomA.getId(), "hello"));
+        utils.clearEntityManager(em);
+
+        // then: 별명이 있는 채팅방은 별명으로만 검색되며, 최근 활동한 채팅방부터 한 페이지씩 조회
+        assertThat(searchChatRoomIds(members[0], "ChatRoom", 0)).containsExactly(chatRoomA.getId());
+        assertThat(searchChatRoomIds(members[0], "ChatRoom", 1)).containsExactly(chatRoomC.getId());
+        assertThat(searchChatRoomIds(members[0], "ChatRoom", 2)).isEmpty();
+        assertThat(chatRoomService.searchChatRooms(members[0], ChatRoomSearchRequestDto.builder().name("Other").build()))
+                .extracting(ChatRoomInfoResponseDto::getId)
+                .containsExactly(chatRoomB.getId());
+    }
+
+    @Test
+    @DisplayName("채팅방 검색: 매우 큰 페이지를 요청해도 오프셋이 넘치지 않고 빈 결과 반환")
+    void searchChatRoom_hugePage() {
+        // given: 회원 및 채팅방 생성
+        Member[] members = utils.createTestMembers(2);
+        chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1]), "ChatRoomA", BASIC_PROFILE_URL));
+        utils.clearEntityManager(em);
+
+        // when: page * size가 int 범위를 넘는 페이지를 조회
+        List<ChatRoomInfoResponseDto> responseDto = chatRoomService.searchChatRooms(members[0], ChatRoomSearchRequestDto.builder()
+                .name("ChatRoom")
+                .page(Integer.MAX_VALUE)
+                .size(MemberChatRoomSearchCondition.MAX_SIZE)
+                .build());
+
+        // then: 음수 오프셋으로 처음 페이지가 조회되지 않음
+        assertThat(responseDto).isEmpty();
+    }
+
+    @Test
+    @DisplayName("채팅방 초대: 초대할 회원 없이 초대 예외")
+    void inviteChatRoom_empty() {
+        // given: 회원 및 채팅방 생성
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+
+        // when: 초대할 회원이 없는 Request DTO 생성
+        ChatRoomInviteRequestDto requestDto = ChatRoomInviteRequestDto.builder()
+                .id(chatRoom.getId())
+                .build();
+
+        // then: 초대 시 예외 발생
+        assertThatThrownBy(() -> chatRoomService.inviteChatRoom(members[0], requestDto))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("채팅방 나가기: 성공")
     void leaveChatRoom_success() {
@@ -257,4 +367,15 @@ class ChatRoomServiceTest {
         assertThat(chatRoomRepository.findById(chatRoomInfoRequestDto.getId()))
                 .isEmpty(); // 조회 실패
     }
+
+    private List<Long> searchChatRoomIds(Member member, String name, int page) {
+        return chatRoomService.searchChatRooms(member, ChatRoomSearchRequestDto.builder()
+                        .name(name)
+                        .page(page)
+                        .size(1)
+                        .build())
+                .stream()
+                .map(ChatRoomInfoResponseDto::getId)
+                .toList();
+    }
 }
\ No newline at end of file
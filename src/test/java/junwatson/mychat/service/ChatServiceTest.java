@@ -0,0 +1,177 @@
+package junwatson.mychat.service;
+
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.dto.request.ChatCreateRequestDto;
+import junwatson.mychat.dto.request.ChatHistoryRequestDto;
+import junwatson.mychat.dto.request.ChatRoomInfoRequestDto;
+import junwatson.mychat.dto.request.ChatSearchRequestDto;
+import junwatson.mychat.dto.response.ChatHistoryResponseDto;
+import junwatson.mychat.dto.response.ChatInfoResponseDto;
+import junwatson.mychat.dto.response.ChatRoomInfoResponseDto;
+import junwatson.mychat.exception.IllegalSearchConditionException;
+import junwatson.mychat.repository.condition.ChatHistoryCondition;
+import junwatson.mychat.repository.condition.ChatSearchCondition;
+import junwatson.mychat.repository.projection.MemberSnapshot;
+import junwatson.mychat.util.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class ChatServiceTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private MemberService memberService;
+
+    @Test
+    @DisplayName("채팅 기록 조회: 성공")
+    void readChatHistory_success() {
+        // given: 회원, 채팅방 및 채팅 5개 생성(채팅방 생성 시스템 채팅 포함 6개)
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        for (int i = 0; i < 5; i++) {
+            chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoom.getId(), "chat" + i));
+        }
+        utils.clearEntityManager(em);
+
+        // when: 2개씩 끝까지 조회
+        List<ChatInfoResponseDto> chats = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        String before = null;
+        do {
+            ChatHistoryResponseDto responseDto = chatService.readChatHistory(MemberSnapshot.from(memberService.findById(members[1].getId())), ChatHistoryRequestDto.builder()
+                    .id(chatRoom.getId())
+                    .before(before)
+                    .size(2)
+                    .build());
+            assertThat(responseDto.getChats().size()).isLessThanOrEqualTo(2);
+            chats.addAll(responseDto.getChats());
+            before = responseDto.getBefore();
+            cursors.add(before);
+        } while (before != null);
+
+        // then: 모든 채팅이 중복 없이 최신순으로 조회됨
+        assertThat(chats.size()).isEqualTo(6);
+        assertThat(cursors.size()).isEqualTo(3);
+        assertThat(chats.stream().map(ChatInfoResponseDto::getChatId).distinct().count()).isEqualTo(6);
+        assertThat(chats.getFirst().getContent()).isEqualTo("chat4");
+    }
+
+    @Test
+    @DisplayName("채팅 조회: 최신 채팅 한 페이지만 반환")
+    void readChats_latestPage() {
+        // given: 회원, 채팅방 및 한 페이지보다 많은 채팅 생성
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        for (int i = 0; i < ChatHistoryCondition.DEFAULT_SIZE + 5; i++) {
+            chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoom.getId(), "chat" + i));
+        }
+        utils.clearEntityManager(em);
+
+        // when
+        List<ChatInfoResponseDto> chats = chatService.readChats(MemberSnapshot.from(memberService.findById(members[1].getId())),
+                ChatRoomInfoRequestDto.builder().id(chatRoom.getId()).build());
+
+        // then: 기본 페이지 크기만큼 최신순으로 조회됨
+        assertThat(chats.size()).isEqualTo(ChatHistoryCondition.DEFAULT_SIZE);
+        assertThat(chats.getFirst().getContent()).isEqualTo("chat" + (ChatHistoryCondition.DEFAULT_SIZE + 4));
+    }
+
+    @Test
+    @DisplayName("채팅 검색: 검색어가 없으면 최신 채팅을 페이지 단위로 반환")
+    void searchChats_noContentPaging() {
+        // given: 회원, 채팅방 및 채팅 5개 생성(채팅방 생성 시스템 채팅 포함 6개)
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        for (int i = 0; i < 5; i++) {
+            chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoom.getId(), "chat" + i));
+        }
+        utils.clearEntityManager(em);
+
+        // when: 검색어 없이 2개씩 두 번째 페이지를 조회
+        List<ChatInfoResponseDto> chats = chatService.searchChats(MemberSnapshot.from(memberService.findById(members[1].getId())), ChatSearchRequestDto.builder()
+                .id(chatRoom.getId())
+                .page(1)
+                .size(2)
+                .build());
+
+        // then: 최신순으로 세 번째, 네 번째 채팅만 조회됨
+        assertThat(chats.size()).isEqualTo(2);
+        assertThat(chats.get(0).getContent()).isEqualTo("chat2");
+        assertThat(chats.get(1).getContent()).isEqualTo("chat1");
+    }
+
+    @Test
+    @DisplayName("채팅 검색: 매우 큰 페이지를 요청해도 오프셋이 넘치지 않고 빈 결과 반환")
+    void searchChats_hugePage() {
+        // given: 회원 및 채팅방 생성
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+        utils.clearEntityManager(em);
+
+        // when: page * size가 int 범위를 넘는 페이지를 조회
+        List<ChatInfoResponseDto> chats = chatService.searchChats(MemberSnapshot.from(memberService.findById(members[1].getId())), ChatSearchRequestDto.builder()
+                .id(chatRoom.getId())
+                .page(Integer.MAX_VALUE)
+                .size(ChatSearchCondition.MAX_SIZE)
+                .build());
+
+        // then: 음수 오프셋으로 처음 페이지가 조회되지 않음
+        assertThat(chats).isEmpty();
+    }
+
+    @Test
+    @DisplayName("채팅 기록 조회: 부적절한 커서 예외")
+    void readChatHistory_illegalCursor() {
+        // given: 회원 및 채팅방 생성
+        Member[] members = utils.createTestMembers(2);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1])));
+
+        // when: 해석할 수 없는 커서를 담은 Request DTO 생성
+        ChatHistoryRequestDto requestDto = ChatHistoryRequestDto.builder()
+                .id(chatRoom.getId())
+                .before("illegal cursor")
+                .build();
+
+        // then: 조회 시 예외 발생
+        assertThatThrownBy(() -> chatService.readChatHistory(MemberSnapshot.from(members[0]), requestDto))
+                .isInstanceOf(IllegalSearchConditionException.class);
+    }
+
+    @Test
+    @DisplayName("읽지 않은 회원 수 계산: 성공")
+    void calculateUnconfirmedCounter_success() {
+        // given: 회원 3명이 있는 채팅방 생성
+        Member[] members = utils.createTestMembers(3);
+        ChatRoomInfoResponseDto chatRoom = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1], members[2])));
+
+        // when: 채팅 작성 후 작성자와 한 명의 회원이 채팅방 조회
+        chatService.createUserChat(members[0], new ChatCreateRequestDto(chatRoom.getId(), "hello"));
+        ChatHistoryRequestDto requestDto = ChatHistoryRequestDto.builder()
+                .id(chatRoom.getId())
+                .build();
+        chatService.readChatHistory(MemberSnapshot.from(members[0]), requestDto);
+        ChatHistoryResponseDto responseDto = chatService.readChatHistory(MemberSnapshot.from(members[1]), requestDto);
+
+        // then: 조회하지 않은 회원 1명만 읽지 않은 것으로 계산
+        assertThat(responseDto.getChats().getFirst().getContent()).isEqualTo("hello");
+        assertThat(responseDto.getChats().getFirst().getUnconfirmedCounter()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,154 @@
+package junwatson.mychat.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManager;
+import junwatson.mychat.domain.Member;
+import junwatson.mychat.domain.type.MemberAuthorizationType;
+import junwatson.mychat.dto.response.TokenDto;
+import junwatson.mychat.jwt.TokenProvider;
+import junwatson.mychat.repository.MemberRepository;
+import junwatson.mychat.repository.dao.RefreshTokenDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static junwatson.mychat.config.OAuthConfig.OAUTH_EXECUTOR;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로그인 트랜잭션이 요청 스레드가 아닌 별도의 스레드에서 커밋되므로, 테스트 트랜잭션 없이 실행하고 직접 정리한다
+ */
+@SpringBootTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GoogleLoginServiceTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TokenProvider tokenProvider;
+    @Autowired
+    private RefreshTokenDao refreshTokenDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    @Qualifier(OAUTH_EXECUTOR)
+    private Executor executor;
+
+    private HttpServer server;
+    private GoogleOAuthClient client;
+    private GoogleLoginService googleLoginService;
+    private String email;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        client = new GoogleOAuthClient(HttpClient.newHttpClient(), URI.create(baseUrl + "/token"),
+                URI.create(baseUrl + "/userinfo"), Duration.ofSeconds(5), "client-id", "client-secret", "http://localhost/callback");
+        googleLoginService = new GoogleLoginService(memberRepository, tokenProvider, refreshTokenDao, client, transactionTemplate, executor);
+        email = "google-" + UUID.randomUUID() + "@gmail.com";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+
+        // 커밋된 데이터이므로 직접 정리
+        transactionTemplate.executeWithoutResult(status -> memberRepository.findByEmail(email)
+                .ifPresent(member -> {
+                    refreshTokenDao.removeAllRefreshTokens(member.getId());
+                    em.remove(em.find(Member.class, member.getId()));
+                }));
+    }
+
+    @Test
+    @DisplayName("구글 로그인: 처음 로그인하면 회원가입 후 토큰 발급, 다시 로그인하면 같은 회원으로 로그인")
+    void loginOrSignUp_success() {
+        // given: 인증된 이메일을 돌려주는 스텁 서버
+        stubGoogle(true);
+
+        // when: 같은 계정으로 두 번 로그인
+        TokenDto first = googleLoginService.loginOrSignUp("auth-code").join();
+        TokenDto second = googleLoginService.loginOrSignUp("auth-code").join();
+
+        // then: 구글 회원으로 가입되어 커밋되고, 두 토큰 모두 그 회원에게 발급됨
+        Optional<Member> member = transactionTemplate.execute(status -> memberRepository.findByEmail(email));
+        assertThat(member).isPresent();
+        assertThat(member.get().getAuthorizedBy()).isEqualTo(MemberAuthorizationType.GOOGLE);
+        assertThat(tokenProvider.parseClaims(first.getAccessToken()).getSubject()).isEqualTo(member.get().getId().toString());
+        assertThat(tokenProvider.parseClaims(second.getAccessToken()).getSubject()).isEqualTo(member.get().getId().toString());
+        assertThat(first.getRefreshToken()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("구글 로그인: 이메일 인증이 되지 않은 계정이면 실패하고 회원가입되지 않음")
+    void loginOrSignUp_unverifiedEmail() {
+        // given: 인증되지 않은 이메일을 돌려주는 스텁 서버
+        stubGoogle(false);
+
+        // when & then
+        assertThatThrownBy(() -> googleLoginService.loginOrSignUp("auth-code").join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("이메일 인증이 되지 않은 유저입니다.");
+        assertThat(transactionTemplate.execute(status -> memberRepository.findByEmail(email))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구글 로그인: 로그인 트랜잭션은 OAuth 전용 스레드 풀에서 수행")
+    void loginOrSignUp_executor() {
+        // given: 로그인 트랜잭션을 수행한 스레드를 기록하는 Executor
+        stubGoogle(true);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        GoogleLoginService service = new GoogleLoginService(memberRepository, tokenProvider, refreshTokenDao, client, transactionTemplate,
+                command -> executor.execute(() -> {
+                    threadName.set(Thread.currentThread().getName());
+                    command.run();
+                }));
+
+        // when
+        service.loginOrSignUp("auth-code").join();
+
+        // then: 응답을 처리한 HttpClient의 스레드가 아닌 OAuth 전용 스레드 풀에서 트랜잭션이 수행됨
+        assertThat(threadName.get()).startsWith("oauth-");
+    }
+
+    private void stubGoogle(boolean verifiedEmail) {
+        server.createContext("/token", exchange -> respond(exchange, 200, "{\"access_token\":\"google-token\"}"));
+        server.createContext("/userinfo", exchange -> respond(exchange, 200,
+                "{\"email\":\"" + email + "\",\"verified_email\":" + verifiedEmail + ",\"name\":\"tester\"}"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
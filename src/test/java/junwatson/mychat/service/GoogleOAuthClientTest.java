@@ -0,0 +1,96 @@
+package junwatson.mychat.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import junwatson.mychat.dto.MemberInfoDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GoogleOAuthClientTest {
+
+    private HttpServer server;
+    private GoogleOAuthClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        client = new GoogleOAuthClient(HttpClient.newHttpClient(), URI.create(baseUrl + "/token"), URI.create(baseUrl + "/userinfo"),
+                Duration.ofMillis(500), "client-id", "client-secret", "http://localhost/callback");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("구글 로그인: 토큰 교환 후 회원 정보 조회 성공")
+    void requestUserInfo_success() {
+        // given: 인가 코드를 받으면 토큰을, 토큰을 받으면 회원 정보를 돌려주는 스텁 서버
+        AtomicReference<String> tokenRequestBody = new AtomicReference<>();
+        server.createContext("/token", exchange -> {
+            tokenRequestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 200, "{\"access_token\":\"google-token\"}");
+        });
+        server.createContext("/userinfo", exchange -> {
+            boolean authorized = "Bearer google-token".equals(exchange.getRequestHeaders().getFirst("Authorization"));
+            respond(exchange, authorized ? 200 : 401, "{\"email\":\"test@gmail.com\",\"verified_email\":true,\"name\":\"tester\"}");
+        });
+
+        // when: 토큰 교환과 회원 정보 조회를 이어서 요청
+        MemberInfoDto userInfo = client.requestAccessToken("auth-code")
+                .thenCompose(client::requestUserInfo)
+                .join();
+
+        // then: 인가 코드가 폼 형식으로 전달되고, 발급된 토큰으로 회원 정보가 조회됨
+        assertThat(tokenRequestBody.get()).contains("code=auth-code", "grant_type=authorization_code");
+        assertThat(userInfo.getEmail()).isEqualTo("test@gmail.com");
+        assertThat(userInfo.getVerifiedEmail()).isTrue();
+    }
+
+    @Test
+    @DisplayName("구글 로그인: 응답 지연 시 타임아웃 예외")
+    void requestAccessToken_timeout() {
+        // given: 응답 대기 시간보다 늦게 응답하는 스텁 서버
+        server.createContext("/token", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{\"access_token\":\"google-token\"}");
+        });
+
+        // when & then: 요청 스레드를 무한정 점유하지 않고 타임아웃 예외 발생
+        assertThatThrownBy(() -> client.requestAccessToken("auth-code").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(HttpTimeoutException.class);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
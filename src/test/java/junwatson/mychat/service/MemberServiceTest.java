@@ -1,20 +1,29 @@
 package junwatson.mychat.service;
 
 import jakarta.persistence.EntityManager;
+import junwatson.mychat.domain.Chat;
+import junwatson.mychat.domain.ChatRoom;
 import junwatson.mychat.domain.Member;
+import junwatson.mychat.dto.request.ChatCreateRequestDto;
+import junwatson.mychat.dto.request.ChatRoomInfoRequestDto;
 import junwatson.mychat.dto.request.MemberInfoRequestDto;
 import junwatson.mychat.dto.request.MemberSearchRequestDto;
 import junwatson.mychat.dto.request.MemberSignInRequestDto;
 import junwatson.mychat.dto.request.MemberSignUpRequestDto;
 import junwatson.mychat.dto.response.MemberInfoResponseDto;
+import junwatson.mychat.dto.response.MemberSearchResponseDto;
 import junwatson.mychat.dto.response.ReissueAccessTokenResponseDto;
 import junwatson.mychat.dto.response.TokenDto;
 import junwatson.mychat.exception.BlockException;
 import junwatson.mychat.exception.IllegalMemberStateException;
+import junwatson.mychat.exception.IllegalRefreshTokenException;
 import junwatson.mychat.exception.IllegalSearchConditionException;
 import junwatson.mychat.exception.MemberNotExistsException;
+import junwatson.mychat.jwt.TokenHash;
 import junwatson.mychat.jwt.TokenProvider;
 import junwatson.mychat.jwt.TokenType;
+import junwatson.mychat.repository.MemberRepository;
+import junwatson.mychat.repository.dao.ChatDao;
 import junwatson.mychat.repository.dao.RefreshTokenDao;
 import junwatson.mychat.util.TestUtils;
 import org.junit.jupiter.api.DisplayName;
@@ -22,8 +31,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -35,6 +48,8 @@ class MemberServiceTest {
 
     private static final String NOT_EXISTS_EMAIL = "asdc897ssa9d78cs7dc8ia5s8dc@testEmail.com";
     private static final String NOT_EXISTS_PASSWORD = "3212b1jhb1324kl4312n4g1j412j4b132134";
+    private static final String EMAIL_PREFIX = "helloImTestMember@testemail.comTEST_EMAIL_";
+    private static final String NAME_PREFIX = "testNameTEST_NAME_";
 
     @Autowired
     private EntityManager em;
@@ -46,6 +61,18 @@ class MemberServiceTest {
     private MemberService memberService;
     @Autowired
     private RefreshTokenDao refreshTokenDao;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private MemberWithdrawalJob memberWithdrawalJob;
+    @Autowired
+    private ChatDao chatDao;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Test
     @DisplayName("회원가입: 정상")
@@ -253,7 +280,7 @@ class MemberServiceTest {
                 .build());
 
         // then
-        assertThat(refreshTokenDao.isValidateRefreshToken(member, tokenDto.getRefreshToken())).isTrue();
+        assertThat(isRefreshTokenStored(member.getId(), tokenDto.getRefreshToken())).isTrue();
     }
 
     @Test
@@ -279,8 +306,8 @@ class MemberServiceTest {
     }
 
     @Test
-    @DisplayName("로그인: 다른 곳에서 로그인시 리프레쉬 토큰 무효화")
-    void login_invalidateToken() throws InterruptedException {
+    @DisplayName("로그인: 여러 기기에서 로그인시 각 리프레쉬 토큰 유지")
+    void login_multipleDevices() {
         // given: 테스트용 멤버 회원가입
         Member member = utils.createTestMember();
 
@@ -289,19 +316,17 @@ class MemberServiceTest {
                 .email(member.getEmail())
                 .password(member.getPassword())
                 .build());
-
-        Thread.sleep(1000); // 다른 내용의 토큰을 발급받을 수 있도록 스레드를 대기시킴
-
         TokenDto tokenDto2 = memberService.signIn(MemberSignInRequestDto.builder()
                 .email(member.getEmail())
                 .password(member.getPassword())
                 .build());
         utils.clearEntityManager(em);
 
-        // then: 기존 로그인으로 생성된 리프레쉬 토큰 무효화
+        // then: 두 리프레쉬 토큰 모두 유효
         Member findMember = em.find(Member.class, member.getId());
-        assertThat(refreshTokenDao.isValidateRefreshToken(findMember, tokenDto1.getRefreshToken())).isFalse();
-        assertThat(refreshTokenDao.isValidateRefreshToken(findMember, tokenDto2.getRefreshToken())).isTrue();
+        assertThat(tokenDto1.getRefreshToken()).isNotEqualTo(tokenDto2.getRefreshToken());
+        assertThat(isRefreshTokenStored(findMember.getId(), tokenDto1.getRefreshToken())).isTrue();
+        assertThat(isRefreshTokenStored(findMember.getId(), tokenDto2.getRefreshToken())).isTrue();
     }
 
     @Test
@@ -319,25 +344,77 @@ class MemberServiceTest {
         ReissueAccessTokenResponseDto responseDto = memberService.reissueAccessToken(tokenDto.getRefreshToken());
         String accessToken = responseDto.getAccessToken();
 
-        // then: 엑세스 토큰 유효성 검사
+        // then: 엑세스 토큰 유효성 검사 및 리프레쉬 토큰 교체
         assertThat(tokenProvider.hasProperType(accessToken, TokenType.ACCESS)).isTrue();
         assertThat(tokenProvider.validateToken(accessToken)).isTrue();
+        Member findMember = em.find(Member.class, signUpMember.getId());
+        assertThat(isRefreshTokenStored(findMember.getId(), tokenDto.getRefreshToken())).isFalse();
+        assertThat(isRefreshTokenStored(findMember.getId(), responseDto.getRefreshToken())).isTrue();
+    }
+
+    @Test
+    @DisplayName("엑세스 토큰 재발급: 사용된 리프레쉬 토큰 재사용 예외")
+    void reissue_reusedToken() {
+        // given: 회원 가입 및 리프레쉬 토큰으로 한 번 재발급
+        Member signUpMember = utils.createTestMember();
+        TokenDto tokenDto = memberService.signIn(MemberSignInRequestDto.builder()
+                .email(signUpMember.getEmail())
+                .password(signUpMember.getPassword())
+                .build());
+        memberService.reissueAccessToken(tokenDto.getRefreshToken());
+
+        // then: 같은 리프레쉬 토큰으로 다시 재발급 시 예외 발생
+        assertThatThrownBy(() -> memberService.reissueAccessToken(tokenDto.getRefreshToken()))
+                .isInstanceOf(IllegalRefreshTokenException.class);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("엑세스 토큰 재발급: 테스트 트랜잭션 밖에서 리프레쉬 토큰 교체")
+    void reissue_committed() {
+        // given: 회원 가입 및 로그인을 각각 커밋
+        Member signUpMember = transactionTemplate.execute(status -> utils.createTestMember());
+        TokenDto tokenDto = transactionTemplate.execute(status -> memberService.signIn(MemberSignInRequestDto.builder()
+                .email(signUpMember.getEmail())
+                .password(signUpMember.getPassword())
+                .build()));
+
+        try {
+            // when: 재발급이 자체 트랜잭션으로 실행됨
+            ReissueAccessTokenResponseDto responseDto = memberService.reissueAccessToken(tokenDto.getRefreshToken());
+
+            // then: 기존 토큰은 삭제되고, 새 토큰이 커밋됨
+            assertThat(transactionTemplate.execute(status -> isRefreshTokenStored(signUpMember.getId(), tokenDto.getRefreshToken())))
+                    .isFalse();
+            assertThat(transactionTemplate.execute(status -> isRefreshTokenStored(signUpMember.getId(), responseDto.getRefreshToken())))
+                    .isTrue();
+        } finally {
+            // 커밋된 데이터이므로 직접 정리
+            transactionTemplate.executeWithoutResult(status -> {
+                refreshTokenDao.removeAllRefreshTokens(signUpMember.getId());
+                em.remove(em.find(Member.class, signUpMember.getId()));
+            });
+        }
     }
 
     @Test
     @DisplayName("로그아웃: 성공")
     void logout_success() {
-        // given: 회원 생성
+        // given: 회원 생성 및 로그인
         Member member = utils.createTestMember();
+        TokenDto tokenDto = memberService.signIn(MemberSignInRequestDto.builder()
+                .email(member.getEmail())
+                .password(member.getPassword())
+                .build());
         utils.clearEntityManager(em);
 
         // case1: 로그아웃 전 리프레쉬 토큰 통과
         Member testMember = memberService.findById(member.getId());
-        assertThat(refreshTokenDao.isValidateRefreshToken(testMember, testMember.getRefreshToken().getToken())).isTrue();
+        assertThat(isRefreshTokenStored(testMember.getId(), tokenDto.getRefreshToken())).isTrue();
 
         // case2: 로그아웃 후 리프레쉬 토큰 거절
         memberService.logout(testMember);
-        assertThat(testMember.getRefreshToken()).isNull();
+        assertThat(isRefreshTokenStored(testMember.getId(), tokenDto.getRefreshToken())).isFalse();
     }
 
     @Test
@@ -356,6 +433,103 @@ class MemberServiceTest {
         assertThatThrownBy(() -> memberService.findById(signInMember.getId())).isInstanceOf(MemberNotExistsException.class);
     }
 
+    @Test
+    @DisplayName("회원 삭제: 백그라운드 작업이 관련 정보를 정리한 뒤 회원 삭제")
+    void withdraw_backgroundCleanup() {
+        // given: 친구 관계, 다른 회원이 남아 있는 채팅방과 혼자 남은 채팅방, 작성한 채팅이 있는 회원
+        Member[] members = utils.createTestMembers(3);
+        utils.makeFriends(members[0], members[1]);
+        Long sharedChatRoomId = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1]))).getId();
+        Long aloneChatRoomId = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[2]))).getId();
+        chatRoomService.leaveChatRoom(memberService.findById(members[2].getId()), ChatRoomInfoRequestDto.builder().id(aloneChatRoomId).build());
+        for (int i = 0; i < 3; i++) {
+            chatService.createUserChat(memberService.findById(members[0].getId()), new ChatCreateRequestDto(sharedChatRoomId, "chat" + i));
+        }
+        utils.clearEntityManager(em);
+
+        // when: 탈퇴 요청 후 백그라운드 작업 실행
+        memberService.withdrawMembership(memberService.findById(members[0].getId()));
+        utils.clearEntityManager(em);
+
+        // then: 작업이 끝나기 전에도 탈퇴한 회원은 조회되지 않음
+        assertThatThrownBy(() -> memberService.findById(members[0].getId())).isInstanceOf(MemberNotExistsException.class);
+
+        WithdrawalProgress progress = memberWithdrawalJob.process(members[0].getId());
+        utils.clearEntityManager(em);
+
+        // then: 단계별로 정리된 행의 수가 기록되고, 회원이 삭제됨
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getProcessedCount(WithdrawalProgress.Stage.FRIENDSHIPS)).isEqualTo(2);
+        assertThat(progress.getProcessedCount(WithdrawalProgress.Stage.CHAT_ROOMS)).isEqualTo(2);
+        assertThat(progress.getProcessedCount(WithdrawalProgress.Stage.CHATS)).isEqualTo(3);
+        assertThat(em.find(Member.class, members[0].getId())).isNull();
+
+        // then: 친구 관계가 삭제되고, 다른 회원이 남은 채팅방만 유지됨
+        Member friend = memberService.findById(members[1].getId());
+        assertThat(memberService.findAllFriends(friend)).isEmpty();
+        assertThat(memberService.findMembersInChatRoom(friend, ChatRoomInfoRequestDto.builder().id(sharedChatRoomId).build()))
+                .extracting(MemberInfoResponseDto::getEmail)
+                .containsExactly(friend.getEmail());
+        assertThat(em.find(ChatRoom.class, aloneChatRoomId)).isNull();
+    }
+
+    @Test
+    @DisplayName("회원 삭제: 다른 서버가 맡은 탈퇴 작업은 처리하지 않음")
+    void withdraw_claimedByOtherServer() {
+        // given: 탈퇴 요청 후 다른 서버가 작업을 맡음
+        Member member = utils.createTestMember();
+        memberService.withdrawMembership(member);
+        utils.clearEntityManager(em);
+        assertThat(memberRepository.claimWithdrawal(member.getId(), "other-server", LocalDateTime.now().minusMinutes(5))).isTrue();
+
+        // when
+        WithdrawalProgress progress = memberWithdrawalJob.process(member.getId());
+        utils.clearEntityManager(em);
+
+        // then: 작업이 실행되지 않고 회원이 남아 있음
+        assertThat(progress.isCompleted()).isFalse();
+        assertThat(em.find(Member.class, member.getId())).isNotNull();
+
+        // then: 맡은 서버가 갱신하지 않아 오래된 작업은 다른 서버가 가져갈 수 있음
+        assertThat(memberRepository.claimWithdrawal(member.getId(), "another-server", LocalDateTime.now().minusMinutes(5))).isFalse();
+        assertThat(memberRepository.claimWithdrawal(member.getId(), "another-server", LocalDateTime.now().plusSeconds(1))).isTrue();
+        assertThat(memberRepository.renewWithdrawalClaim(member.getId(), "other-server")).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원 삭제: 채팅을 ID 범위로 나누어 익명화하고, 영속성 컨텍스트를 비움")
+    void withdraw_anonymizeChatsInChunks() {
+        // given: 채팅을 3개 작성한 회원의 채팅 컬렉션을 불러옴
+        Member[] members = utils.createTestMembers(2);
+        Long chatRoomId = chatRoomService.createChatRoom(members[0], utils.createChatRoomCreateRequestDto(List.of(members[1]))).getId();
+        for (int i = 0; i < 3; i++) {
+            chatService.createUserChat(memberService.findById(members[0].getId()), new ChatCreateRequestDto(chatRoomId, "chat" + i));
+        }
+        utils.clearEntityManager(em);
+        Member member = memberService.findById(members[0].getId());
+        List<Chat> loadedChats = new ArrayList<>(member.getChats());
+
+        // when: 2개씩 익명화
+        long firstChunk = chatDao.anonymizeChats(member.getId(), 2);
+
+        // then: 불러온 엔티티는 변경 전 상태로 남지 않도록 준영속 상태가 됨
+        assertThat(firstChunk).isEqualTo(2);
+        assertThat(em.contains(member)).isFalse();
+        assertThat(loadedChats).noneMatch(em::contains);
+
+        // then: 다시 불러오면 오래된 2개의 채팅만 변경되어 있음
+        assertThat(em.find(Member.class, member.getId()).getChats()).hasSize(1);
+        assertThat(loadedChats).filteredOn(chat -> em.find(Chat.class, chat.getId()).getMember() == null).hasSize(2);
+
+        // then: 남은 채팅을 변경한 뒤에는 더 이상 변경할 채팅이 없음
+        assertThat(chatDao.anonymizeChats(member.getId(), 2)).isEqualTo(1);
+        assertThat(chatDao.anonymizeChats(member.getId(), 2)).isZero();
+        Long remainingChats = em.createQuery("select count(c) from Chat c where c.member.id = :memberId", Long.class)
+                .setParameter("memberId", member.getId())
+                .getSingleResult();
+        assertThat(remainingChats).isZero();
+    }
+
     @Test
     @DisplayName("회원 검색: 이메일로 검색 성공")
     void searchMember_emailSuccess() {
@@ -366,16 +540,16 @@ class MemberServiceTest {
         Member testMember3 = testMembers[2]; // 012
         Member testMember4 = testMembers[3]; // 0123
 
-        // then: 검색 성공
-        List<MemberInfoResponseDto> resultExpected3 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .email("0")
+        // then: 접두사로 검색 성공
+        MemberSearchResponseDto resultExpected3 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .email(EMAIL_PREFIX + "0")
                 .build());
-        assertThat(resultExpected3.size()).isEqualTo(3);
+        assertThat(resultExpected3.getMembers().size()).isEqualTo(3);
 
-        List<MemberInfoResponseDto> resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .email("3")
+        MemberSearchResponseDto resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .email(EMAIL_PREFIX + "0123")
                 .build());
-        assertThat(resultExpected1.size()).isEqualTo(1);
+        assertThat(resultExpected1.getMembers().size()).isEqualTo(1);
     }
 
     @Test
@@ -388,16 +562,16 @@ class MemberServiceTest {
         Member testMember3 = testMembers[2]; // 012
         Member testMember4 = testMembers[3]; // 0123
 
-        // then: 검색 성공
-        List<MemberInfoResponseDto> resultExpected3 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .name("0")
+        // then: 접두사로 검색 성공
+        MemberSearchResponseDto resultExpected3 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .name(NAME_PREFIX + "0")
                 .build());
-        assertThat(resultExpected3.size()).isEqualTo(3);
+        assertThat(resultExpected3.getMembers().size()).isEqualTo(3);
 
-        List<MemberInfoResponseDto> resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .name("3")
+        MemberSearchResponseDto resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .name(NAME_PREFIX + "0123")
                 .build());
-        assertThat(resultExpected1.size()).isEqualTo(1);
+        assertThat(resultExpected1.getMembers().size()).isEqualTo(1);
     }
 
     @Test
@@ -410,18 +584,47 @@ class MemberServiceTest {
         Member testMember3 = testMembers[2]; // 012
         Member testMember4 = testMembers[3]; // 0123
 
-        // then: 검색 성공
-        List<MemberInfoResponseDto> resultExpected2 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .email("0")
-                .name("2")
+        // then: 접두사로 검색 성공
+        MemberSearchResponseDto resultExpected2 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .email(EMAIL_PREFIX + "0")
+                .name(NAME_PREFIX + "012")
                 .build());
-        assertThat(resultExpected2.size()).isEqualTo(2);
+        assertThat(resultExpected2.getMembers().size()).isEqualTo(2);
 
-        List<MemberInfoResponseDto> resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
-                .email("3")
-                .name("0")
+        MemberSearchResponseDto resultExpected1 = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                .email(EMAIL_PREFIX + "0123")
+                .name(NAME_PREFIX + "0")
                 .build());
-        assertThat(resultExpected1.size()).isEqualTo(1);
+        assertThat(resultExpected1.getMembers().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("회원 검색: 커서로 끝까지 나누어 검색 성공")
+    void searchMember_pagination() {
+        // given: 회원 생성
+        Member[] testMembers = utils.createTestMembers(6);
+        Member testMember1 = testMembers[0];
+
+        // when: 2명씩 끝까지 검색
+        List<MemberInfoResponseDto> members = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            MemberSearchResponseDto responseDto = memberService.searchMembersByCondition(testMember1, MemberSearchRequestDto.builder()
+                    .name(NAME_PREFIX)
+                    .after(after)
+                    .size(2)
+                    .build());
+            assertThat(responseDto.getMembers().size()).isLessThanOrEqualTo(2);
+            members.addAll(responseDto.getMembers());
+            after = responseDto.getAfter();
+            pages++;
+        } while (after != null);
+
+        // then: 본인을 제외한 모든 회원이 중복 없이 이름순으로 검색됨
+        assertThat(pages).isEqualTo(3);
+        assertThat(members.stream().map(MemberInfoResponseDto::getEmail).distinct().count()).isEqualTo(5);
+        assertThat(members.getFirst().getName()).isEqualTo(NAME_PREFIX + "01");
     }
 
     @Test
@@ -787,4 +990,11 @@ class MemberServiceTest {
         assertThat(member1.getBlacklists().isEmpty())
                 .isTrue();
     }
-}
\ No newline at end of file
+
+    private boolean isRefreshTokenStored(Long memberId, String token) {
+        return em.createQuery("select count(r) from RefreshToken r where r.tokenHash = :tokenHash and r.member.id = :memberId", Long.class)
+                .setParameter("tokenHash", TokenHash.of(token))
+                .setParameter("memberId", memberId)
+                .getSingleResult() > 0;
+    }
+}